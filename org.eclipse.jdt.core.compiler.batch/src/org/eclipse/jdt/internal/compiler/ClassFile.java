@@ -7416,7 +7416,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 				case Opcodes.OPC_ifle:
 					frame.numberOfStackItems--;
 					int jumpPC = currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 3;
 					break;
 				case Opcodes.OPC_if_icmpeq:
@@ -7429,12 +7429,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 				case Opcodes.OPC_if_acmpne:
 					frame.numberOfStackItems -= 2;
 					jumpPC = currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 3;
 					break;
 				case Opcodes.OPC_goto:
 					jumpPC = currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 3;
 					addRealJumpTarget(realJumpTarget, pc - codeOffset);
 					break;
@@ -7446,7 +7446,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 					}
 					// default offset
 					jumpPC = currentPC + i4At(bytecodes, 0, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 4; // default
 					int low = i4At(bytecodes, 0, pc);
 					pc += 4;
@@ -7456,7 +7456,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 					for (int i = 0; i < length; i++) {
 						// pair offset
 						jumpPC = currentPC + i4At(bytecodes, 0, pc);
-						addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+						addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 						pc += 4;
 					}
 					break;
@@ -7467,7 +7467,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 						pc++;
 					}
 					jumpPC = currentPC + i4At(bytecodes, 0, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 4; // default offset
 					int npairs = (int) u4At(bytecodes, 0, pc);
 					pc += 4; // npair value
@@ -7475,7 +7475,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 						pc += 4; // case value
 						// pair offset
 						jumpPC = currentPC + i4At(bytecodes, 0, pc);
-						addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+						addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 						pc += 4;
 					}
 					break;
@@ -7594,7 +7594,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 					frame.numberOfStackItems -= getParametersCount(descriptor);
 					if (CharOperation.equals(ConstantPool.Init, name)) {
 						// constructor
-						frame.stackItems[frame.numberOfStackItems - 1].tag = VerificationTypeInfo.ITEM_OBJECT;
+						VerificationTypeInfo receiver = frame.stackItems[frame.numberOfStackItems - 1];
+						if (receiver.tag != VerificationTypeInfo.ITEM_UNINITIALIZED && receiver.tag != VerificationTypeInfo.ITEM_UNINITIALIZED_THIS) {
+							// other verification infos are shared between frames
+							receiver = frame.stackItems[frame.numberOfStackItems - 1] = receiver.duplicate();
+						}
+						receiver.tag = VerificationTypeInfo.ITEM_OBJECT;
 					}
 					frame.numberOfStackItems--;
 					returnType = getReturnType(descriptor);
@@ -7824,12 +7829,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 				case Opcodes.OPC_ifnonnull:
 					frame.numberOfStackItems--;
 					jumpPC =  currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 3;
 					break;
 				case Opcodes.OPC_goto_w:
 					jumpPC =  currentPC + i4At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, isClinit, methodBinding, scope);
 					pc += 5;
 					addRealJumpTarget(realJumpTarget, pc - codeOffset); // handle infinite loop
 					break;
@@ -7888,9 +7893,16 @@ public class ClassFile implements TypeConstants, TypeIds {
 		realJumpTarget.add(Integer.valueOf(pc));
 	}
 
-	private void addRealJumpTarget(Set<Integer> realJumpTarget, int pc, Map<Integer, StackMapFrame> frames, StackMapFrame frame, Scope scope) {
-		realJumpTarget.add(Integer.valueOf(pc));
-		add(frames, frame, scope);
+	private void addRealJumpTarget(Set<Integer> realJumpTarget, int pc, Map<Integer, StackMapFrame> frames, StackMapFrame frame, boolean isClinit, MethodBinding methodBinding, Scope scope) {
+		Integer key = Integer.valueOf(pc);
+		realJumpTarget.add(key);
+		StackMapFrame existingFrame = frames.get(key);
+		if (existingFrame == null) {
+			frames.put(key, createNewFrame(pc, frame, isClinit, methodBinding));
+		} else {
+			// the locals of a frame only depend on its pc: only the stack items of the branch need to be merged
+			existingFrame.mergeStackItems(frame, scope);
+		}
 	}
 
 	private void add(Map<Integer, StackMapFrame> frames, StackMapFrame frame, Scope scope) {
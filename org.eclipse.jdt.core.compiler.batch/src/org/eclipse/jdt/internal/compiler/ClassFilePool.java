@@ -16,12 +16,17 @@ package org.eclipse.jdt.internal.compiler;
 import java.util.Arrays;
 
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
 	ClassFile[] classFiles;
+	// statistics, collected into CompilerStats
+	int acquiredCount; // class files handed out
+	int recycledCount; // class files reused, along with their constant pool, code stream and buffers
+	long recycledBytes; // capacity of the header and contents buffers which were reused rather than allocated
 
 private ClassFilePool() {
 	// prevent instantiation
@@ -33,6 +38,7 @@ public static ClassFilePool newInstance() {
 }
 
 public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
+	this.acquiredCount++;
 	for (int i = 0; i < POOL_SIZE; i++) {
 		ClassFile classFile = this.classFiles[i];
 		if (classFile == null) {
@@ -42,6 +48,7 @@ public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
 			return newClassFile;
 		}
 		if (!classFile.isShared) {
+			recordRecycled(classFile);
 			classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
 			classFile.isShared = true;
 			return classFile;
@@ -50,6 +57,7 @@ public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
 	return new ClassFile(typeBinding);
 }
 public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, CompilerOptions options) {
+	this.acquiredCount++;
 	for (int i = 0; i < POOL_SIZE; i++) {
 		ClassFile classFile = this.classFiles[i];
 		if (classFile == null) {
@@ -59,6 +67,7 @@ public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, Comp
 			return newClassFile;
 		}
 		if (!classFile.isShared) {
+			recordRecycled(classFile);
 			classFile.reset(null, options);
 			classFile.isShared = true;
 			return classFile;
@@ -69,7 +78,19 @@ public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, Comp
 public synchronized void release(ClassFile classFile) {
 	classFile.isShared = false;
 }
+private void recordRecycled(ClassFile classFile) {
+	this.recycledCount++;
+	this.recycledBytes += classFile.header.length + classFile.contents.length;
+}
+public synchronized void recordStats(CompilerStats stats) {
+	stats.classFileCount += this.acquiredCount;
+	stats.recycledClassFileCount += this.recycledCount;
+	stats.recycledClassFileBytes += this.recycledBytes;
+}
 public void reset() {
 	Arrays.fill(this.classFiles, null);
+	this.acquiredCount = 0;
+	this.recycledCount = 0;
+	this.recycledBytes = 0;
 }
 }
@@ -71,6 +71,7 @@ public class CompilationResult {
 	public char[][][] qualifiedReferences;
 	public char[][] simpleNameReferences;
 	public char[][] rootReferences;
+	public char[][] memberReferences; // names of the fields and methods looked up by the unit
 	public boolean hasAnnotations = false;
 	public boolean hasFunctionalTypes = false;
 	public int lineSeparatorPositions[];
@@ -382,7 +383,8 @@ public void record(CategorizedProblem newProblem, ReferenceContext referenceCont
 	return;
 }
 
-public void record(CategorizedProblem newProblem, ReferenceContext referenceContext, boolean mandatoryError) {
+public synchronized void record(CategorizedProblem newProblem, ReferenceContext referenceContext, boolean mandatoryError) {
+	// synchronized since method bodies may be parsed ahead on another thread, see ParseAheadManager
 	//new Exception("VERBOSE PROBLEM REPORTING").printStackTrace();
 	if(newProblem.getID() == IProblem.Task) {
 		recordTask(newProblem);
@@ -57,6 +57,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int parseAheadThreads = 0; // number of worker threads parsing method bodies ahead of processing (0: none)
+	private ParseAheadManager parseAheadManager;
 
 	// number of initial units parsed at once (-1: none)
 
@@ -555,6 +557,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		CompilationUnitDeclaration unit = null;
 		ProcessTaskManager processingTask = null;
 		try {
+			if (this.parseAheadThreads > 0)
+				this.parseAheadManager = new ParseAheadManager(this, startingIndex, this.parseAheadThreads);
 			if (this.useSingleThread) {
 				// process all units (some more could be injected in the loop by the lookup environment)
 				for (int i = startingIndex; i < this.totalUnits; i++) {
@@ -583,6 +587,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 					reportWorked(1, i);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
+					this.stats.problemCount += unit.compilationResult.problemCount;
 					long acceptStart = System.currentTimeMillis();
 					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
 					this.stats.generateTime += System.currentTimeMillis() - acceptStart; // record accept time as part of generation
@@ -608,9 +613,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 						unit = processingTask.unitToProcess;
 						throw e;
 					}
-					if (unit == null) break;
+					if (unit == null) {
+						this.stats.processingQueueFullWaits += processingTask.fullWaits;
+						this.stats.processingQueueEmptyWaits += processingTask.emptyWaits;
+						break;
+					}
 					reportWorked(1, acceptedCount++);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
+					this.stats.problemCount += unit.compilationResult.problemCount;
 					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
 					if (this.options.verbose)
 						this.out.println(
@@ -622,6 +632,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 							}));
 				}
 			}
+			if (this.parseAheadManager != null) {
+				// annotation processing below may start another round with its own manager
+				this.parseAheadManager.shutdown();
+				this.parseAheadManager = null;
+			}
 			if (!lastRound) {
 				if (this.annotationProcessorManager != null && this.totalUnits > this.annotationProcessorStartIndex) {
 					int backup = this.annotationProcessorStartIndex;
@@ -644,6 +659,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				processingTask.shutdown();
 				processingTask = null;
 			}
+			if (this.parseAheadManager != null) {
+				this.parseAheadManager.shutdown();
+				this.parseAheadManager = null;
+			}
 			reset();
 			this.annotationProcessorStartIndex  = 0;
 			this.stats.endTime = System.currentTimeMillis();
@@ -662,6 +681,16 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		return null;
 	}
 
+	/*
+	 * Answers the unit at the given index without releasing it, or null if it is not known (yet)
+	 * or was already released.
+	 */
+	synchronized CompilationUnitDeclaration peekUnitToProcess(int index) {
+		if (this.unitsToProcess != null && index < this.totalUnits)
+			return this.unitsToProcess[index];
+		return null;
+	}
+
 	/*
 	 * Returns whether the compilation unit at the given index should be
 	 * cleaned up after processing. This basically means whether or not
@@ -803,6 +832,15 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.parser = new Parser(this.problemReporter, this.options.parseLiteralExpressionsAsConstants);
 	}
 
+	/**
+	 * Answer a new parser used by a worker thread to parse method bodies ahead of processing.
+	 * It must not share any state with {@link #parser}, in particular not its problem reporter.
+	 */
+	protected Parser createParseAheadParser() {
+		ProblemReporter reporter = new ProblemReporter(this.problemReporter.policy, this.options, this.problemReporter.problemFactory);
+		return new Parser(reporter, this.options.parseLiteralExpressionsAsConstants);
+	}
+
 	private  void abortIfPreviewNotAllowed(ICompilationUnit[] sourceUnits, int maxUnits) {
 		if (!this.options.enablePreviewFeatures)
 			return;
@@ -892,6 +930,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			}
 		} finally { // especially on AbortCompilation
 			if (this.parser.readManager != null) {
+				this.stats.readAheadHits += this.parser.readManager.hitCount;
+				this.stats.readAheadStalls += this.parser.readManager.stallCount;
+				this.stats.readAheadMisses += this.parser.readManager.missCount;
+				this.stats.readAheadStallTime += this.parser.readManager.stallTime;
 				this.parser.readManager.shutdown();
 				this.parser.readManager = null;
 			}
@@ -907,6 +949,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.lookupEnvironment.unitBeingCompleted = unit;
 		long parseStart = System.currentTimeMillis();
 
+		if (this.parseAheadManager != null)
+			this.parseAheadManager.awaitMethodBodies(unit, i); // no-op below if bodies were parsed ahead
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
@@ -941,7 +985,9 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		// finalize problems (suppressWarnings)
 		unit.finalizeProblems();
 
-		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		long generateEnd = System.currentTimeMillis();
+		this.stats.generateTime += generateEnd - generateStart;
+		this.stats.recordUnitTime(unit.getFileName(), generateEnd - parseStart);
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -1033,6 +1079,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	}
 
 	public void reset() {
+		this.lookupEnvironment.recordStats(this.stats);
 		this.lookupEnvironment.reset();
 		this.parser.scanner.source = null;
 		this.unitsToProcess = null;
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+
+/**
+ * Parses the method bodies of the units to process before actually needed (ahead).
+ * <p>
+ * Resolution, analysis and code generation share the lookup environment and stay on
+ * the single processing thread. While processing a unit, this thread also touches the
+ * declarations of other units (resolving their signatures and annotations, recording their
+ * problems), so it never runs while method bodies are parsed ahead. When it reaches a unit
+ * which was not parsed ahead, the units of the next window are parsed by worker threads,
+ * each using a distinct {@link Parser} (and thus its own scanner and thread local char
+ * deduplication), and the processing thread waits until they are all parsed. The window
+ * is bounded, so that only the method bodies of a few units are kept ahead of their processing.
+ * Units are still processed and accepted in their original order.
+ * </p>
+ */
+public class ParseAheadManager {
+	/** Upper bound for the number of worker threads, whatever the requested number **/
+	public static final int MAX_THREAD_COUNT = 16;
+	/** Number of units parsed per worker thread in a window, large enough for the workers to share the load evenly **/
+	private static final int UNITS_PER_THREAD = 8;
+
+	/** Threads are created on demand and reused on subsequent builds **/
+	private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, "Compiler Method Body Parser"); //$NON-NLS-1$
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final Compiler compiler;
+	private final int threadCount;
+	private final Set<CompilationUnitDeclaration> parsed = Collections.newSetFromMap(new IdentityHashMap<>()); // units of the window parsed ahead
+	private final Deque<Parser> parsers = new ArrayDeque<>(); // idle parsers, at most one per worker thread
+	private int nextIndex; // index of the first unit following the window
+
+public ParseAheadManager(Compiler compiler, int startingIndex, int threadCount) {
+	this.compiler = compiler;
+	this.nextIndex = startingIndex;
+	// more workers than processors only add hand-off costs, the processing thread being idle during a window
+	int processors = Runtime.getRuntime().availableProcessors();
+	this.threadCount = Math.max(1, Math.min(Math.min(MAX_THREAD_COUNT, processors), threadCount));
+}
+
+/**
+ * Makes sure the method bodies of the given unit have been parsed ahead, parsing the window of units
+ * starting with it if needed. Meant to be called by the processing thread in the order of the units.
+ * When the unit was not parsed ahead, its method bodies are left to the processing thread.
+ */
+public void awaitMethodBodies(CompilationUnitDeclaration unit, int index) throws Error {
+	if (index >= this.nextIndex)
+		parseWindow(index);
+	this.parsed.remove(unit);
+}
+
+// parses the window of units starting at the given index, and waits until they are all parsed
+private void parseWindow(int index) {
+	this.parsed.clear();
+	List<CompilationUnitDeclaration> units = new ArrayList<>();
+	int end = index + this.threadCount * UNITS_PER_THREAD;
+	for (this.nextIndex = index; this.nextIndex < end; this.nextIndex++) {
+		CompilationUnitDeclaration next = this.compiler.peekUnitToProcess(this.nextIndex);
+		if (next == null)
+			break; // no more units known yet, some could be added later on by the lookup environment
+		if (next.compilationResult.hasBeenAccepted || next.ignoreMethodBodies)
+			continue;
+		units.add(next);
+	}
+	this.parsed.addAll(units);
+	AtomicInteger nextUnit = new AtomicInteger();
+	List<Future<?>> futures = new ArrayList<>();
+	for (int i = 0, workers = Math.min(this.threadCount, units.size()); i < workers; i++) {
+		futures.add(executor.submit(() -> parseMethodBodies(units, nextUnit)));
+	}
+	Throwable failure = null;
+	boolean interrupted = false;
+	for (Future<?> future : futures) {
+		while (true) {
+			try {
+				future.get(); // the processing thread must not touch any unit while a worker is still parsing it
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			} catch (ExecutionException e) {
+				if (failure == null)
+					failure = e.getCause();
+				break;
+			}
+		}
+	}
+	if (interrupted)
+		Thread.currentThread().interrupt();
+	if (failure != null) {
+		// rethrow the caught exception from the parsing threads in the processing thread
+		if (failure instanceof Error err) {
+			throw err;
+		}
+		if (failure instanceof RuntimeException ex) {
+			throw ex;
+		}
+		throw new RuntimeException(failure);
+	}
+}
+
+// parses the method bodies of the units of the window which are not taken yet by another worker
+private void parseMethodBodies(List<CompilationUnitDeclaration> units, AtomicInteger nextUnit) {
+	Parser parser;
+	synchronized (this.parsers) {
+		parser = this.parsers.poll();
+	}
+	if (parser == null)
+		parser = this.compiler.createParseAheadParser();
+	try {
+		for (int i = nextUnit.getAndIncrement(); i < units.size(); i = nextUnit.getAndIncrement()) {
+			try {
+				parser.getMethodBodies(units.get(i));
+			} finally {
+				// nodes like ReferenceExpression keep the scanner which created them and reparse with it during resolution:
+				// releasing renews the scanner before the next unit is parsed
+				parser.releaseUnits();
+			}
+		}
+	} finally {
+		synchronized (this.parsers) {
+			this.parsers.push(parser);
+		}
+	}
+}
+
+/**
+ * Forgets the units parsed ahead. No worker is parsing any unit once {@link #awaitMethodBodies(CompilationUnitDeclaration, int)} returned.
+ */
+public void shutdown() {
+	this.parsed.clear();
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
@@ -33,12 +35,20 @@ public class ProcessTaskManager {
 	CompilationUnitDeclaration unitToProcess;
 	private Throwable caughtException;
 
-	// queue
-	volatile int currentIndex, availableIndex, size, sleepCount;
-	private final CompilationUnitDeclaration[] units;
+	// queue of processed units: a single producer (the processing thread) and a single consumer (the main thread)
+	// hand off the units through the slots of the array, a null slot being free, without any lock
+	private final AtomicReferenceArray<CompilationUnitDeclaration> units;
+	private int availableIndex; // only accessed by the processing thread
+	private int currentIndex; // only accessed by the main thread
+	private volatile Thread waitingProducer, waitingConsumer; // set while parked
+	// back-pressure: number of times the processing thread waited for a free slot, and the main thread for a unit
+	int fullWaits, emptyWaits;
 
 	public static final int PROCESSED_QUEUE_SIZE = 100;
 
+	// parked threads are woken up when the other side hands off a unit, this is only a safety net
+	private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
 	/** Normally a single thread is created an reused on subsequent builds **/
 	private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
 		Thread t = new Thread(r, "Compiler Processing Task"); //$NON-NLS-1$
@@ -52,9 +62,7 @@ public ProcessTaskManager(Compiler compiler, int startingIndex) {
 
 	this.currentIndex = 0;
 	this.availableIndex = 0;
-	this.size = PROCESSED_QUEUE_SIZE;
-	this.sleepCount = 0; // 0 is no one, +1 is the processing thread & -1 is the writing/main thread
-	this.units = new CompilationUnitDeclaration[this.size];
+	this.units = new AtomicReferenceArray<>(PROCESSED_QUEUE_SIZE);
 
 	synchronized (this) {
 		this.processingTask = executor.submit(this::compile);
@@ -62,68 +70,65 @@ public ProcessTaskManager(Compiler compiler, int startingIndex) {
 }
 
 // add unit to the queue - wait if no space is available
-private synchronized void addNextUnit(CompilationUnitDeclaration newElement) {
-	while (this.units[this.availableIndex] != null) {
-		//System.out.print('a');
-		//if (this.sleepCount < 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-		this.sleepCount = 1;
-		try {
-			wait(250);
-		} catch (InterruptedException ignore) {
-			// ignore
+private void addNextUnit(CompilationUnitDeclaration newElement) {
+	while (this.units.get(this.availableIndex) != null) {
+		if (this.processingTask == null)
+			return; // shut down, the main thread will not remove any unit anymore
+		this.waitingProducer = Thread.currentThread();
+		// check again once visible as waiting, the main thread could have removed the unit in between
+		if (this.units.get(this.availableIndex) != null) {
+			this.fullWaits++;
+			LockSupport.parkNanos(this, MAX_PARK_NANOS);
 		}
-		this.sleepCount = 0;
+		this.waitingProducer = null;
 	}
 
-	this.units[this.availableIndex++] = newElement;
-	if (this.availableIndex >= this.size)
+	this.units.set(this.availableIndex++, newElement); // volatile write publishes the processed unit
+	if (this.availableIndex >= PROCESSED_QUEUE_SIZE)
 		this.availableIndex = 0;
-	if (this.sleepCount <= -1)
-		notify(); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
+	wakeUp(this.waitingConsumer); // the main thread may be waiting to accept this unit
 }
 
 public CompilationUnitDeclaration removeNextUnit() throws Error {
-	CompilationUnitDeclaration next = null;
-	boolean yield = false;
-	synchronized (this) {
-		next = this.units[this.currentIndex];
-		if (next == null || this.caughtException != null) {
-			do {
-				if (this.processingTask == null) {
-					if (this.caughtException != null) {
-						// rethrow the caught exception from the processingThread in the main compiler thread
-						if (this.caughtException instanceof Error)
-							throw (Error) this.caughtException;
-						throw (RuntimeException) this.caughtException;
-					}
-					return null;
-				}
-				//System.out.print('r');
-				//if (this.sleepCount > 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-				this.sleepCount = -1;
-				try {
-					wait(100);
-				} catch (InterruptedException ignore) {
-					// ignore
-				}
-				this.sleepCount = 0;
-				next = this.units[this.currentIndex];
-			} while (next == null);
+	CompilationUnitDeclaration next;
+	while (true) {
+		if (this.processingTask == null && this.caughtException != null) {
+			// rethrow the caught exception from the processingThread in the main compiler thread
+			if (this.caughtException instanceof Error)
+				throw (Error) this.caughtException;
+			throw (RuntimeException) this.caughtException;
 		}
-
-		this.units[this.currentIndex++] = null;
-		if (this.currentIndex >= this.size)
-			this.currentIndex = 0;
-		if (this.sleepCount >= 1 && ++this.sleepCount > 4) {
-			notify(); // wake up processing thread to add next unit but only after removing some elements first
-			yield = this.sleepCount > 8;
+		next = this.units.get(this.currentIndex);
+		if (next != null)
+			break;
+		if (this.processingTask == null) {
+			// the last unit could have been added right before the processing task ended
+			next = this.units.get(this.currentIndex);
+			if (next == null)
+				return null;
+			break;
+		}
+		this.waitingConsumer = Thread.currentThread();
+		// check again once visible as waiting, the processing thread could have added a unit or ended in between
+		if (this.units.get(this.currentIndex) == null && this.processingTask != null) {
+			this.emptyWaits++;
+			LockSupport.parkNanos(this, MAX_PARK_NANOS);
 		}
+		this.waitingConsumer = null;
 	}
-	if (yield)
-		Thread.yield();
+
+	this.units.set(this.currentIndex++, null);
+	if (this.currentIndex >= PROCESSED_QUEUE_SIZE)
+		this.currentIndex = 0;
+	wakeUp(this.waitingProducer); // the processing thread may be waiting for this free slot
 	return next;
 }
 
+private static void wakeUp(Thread waiting) {
+	if (waiting != null)
+		LockSupport.unpark(waiting);
+}
+
 private void compile() {
 	int unitIndex = this.startingIndex;
 	synchronized (this) { // wait until processingTask is assigned
@@ -142,6 +147,7 @@ private void compile() {
 				this.unitToProcess = this.compiler.getUnitToProcess(unitIndex);
 				if (this.unitToProcess == null) {
 					this.processingTask = null;
+					wakeUp(this.waitingConsumer); // no more units to accept
 					return;
 				}
 				index = unitIndex++;
@@ -175,9 +181,10 @@ private void compile() {
 			addNextUnit(this.unitToProcess);
 		} catch (Error | RuntimeException e) {
 			synchronized (this) {
-				this.processingTask = null;
 				this.caughtException = e;
+				this.processingTask = null; // volatile write publishes the caught exception
 			}
+			wakeUp(this.waitingConsumer);
 			return;
 		}
 	}
@@ -191,7 +198,7 @@ public void shutdown() {
 			if (t != null) {
 				// stop processing on error:
 				this.processingTask = null;
-				notifyAll();
+				wakeUp(this.waitingProducer);
 			}
 		}
 		if (t != null) {
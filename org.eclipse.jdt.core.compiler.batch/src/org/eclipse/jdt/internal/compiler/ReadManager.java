@@ -17,19 +17,35 @@ package org.eclipse.jdt.internal.compiler;
 import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 
-/** Reads a list of ICompilationUnit before actually needed (ahead) **/
+/**
+ * Reads a list of ICompilationUnit before actually needed (ahead).
+ * <p>
+ * The number of files read ahead adapts to the rate at which the compiler consumes them: it grows each time the
+ * compiler has to wait for a file being read and shrinks again while the files are always read in time.
+ * It is also bounded by the amount of characters read but not consumed yet.
+ * </p>
+ **/
 public class ReadManager {
-	private static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	private static final int CACHE_SIZE = 15; // initial number of files read ahead
+	private static final int MIN_CACHE_SIZE = 4;
+	private static final int MAX_CACHE_SIZE = 64;
+	private static final long MAX_CHARS_READ_AHEAD = 8 * 1024 * 1024; // do not waste memory by keeping too many files in memory
 	/**
 	 * Not more threads then cache size and leave 2 threads for compiler + writer. Executor should process in fifo order
 	 * (first in first out).
+	 * <p>
+	 * The pool is not sized by the number of files read ahead: reading a file includes decoding it, which competes with
+	 * the compiler for the processors. A larger read-ahead only queues more reads for the same threads.
+	 * </p>
 	 */
 	private static int THREAD_COUNT = Math.max(0, Math.min(CACHE_SIZE, Runtime.getRuntime().availableProcessors() - 2));
 	private static final ExecutorService executor = THREAD_COUNT <= 0 ? null
@@ -41,6 +57,15 @@ public class ReadManager {
 
 	private final Queue<ICompilationUnit> unitsToRead;
 	private final Map<ICompilationUnit, Future<char[]>> cache = new ConcurrentHashMap<>();
+	private volatile int cacheSize = CACHE_SIZE; // current number of files to read ahead
+	private final AtomicLong charsReadAhead = new AtomicLong(); // read but not consumed yet
+	private int hitsInARow;
+
+	// counters reported through CompilerStats, only accessed by the compiler thread
+	int hitCount; // contents were read ahead in time
+	int stallCount; // waited for contents being read
+	int missCount; // contents were not read ahead
+	long stallTime; // ms
 
 	public ReadManager(ICompilationUnit[] files, int length) {
 		this.unitsToRead = new ArrayDeque<>(length);
@@ -72,16 +97,28 @@ public class ReadManager {
 		}
 		if (future == null) {
 			// should not happen.
+			this.missCount++;
 			return getWithoutFuture(unit);
 		}
 		// now: future != null
-		queueNextReadAhead();
+		adaptCacheSize(future.isDone());
+		while (queueNextReadAhead()) {
+			// queued 1 more
+		}
 		try {
 			// unit was already scheduled
 			// in most cases future is already completed
 			// Otherwise, when read ahead is slower then compiler,
 			// wait for completion to avoid extra work of reading files multiple times:
-			return getWithFuture(future);
+			char[] contents;
+			if (future.isDone()) {
+				contents = getWithFuture(future);
+			} else {
+				long start = System.currentTimeMillis();
+				contents = getWithFuture(future);
+				this.stallTime += System.currentTimeMillis() - start;
+			}
+			return contents;
 		} catch (InterruptedException ignored) {
 			return getWhileInterrupted(unit);
 		} catch (ExecutionException e) {
@@ -93,6 +130,44 @@ public class ReadManager {
 				throw ex;
 			}
 			throw new RuntimeException(e);
+		} finally {
+			releaseReadAhead(future);
+		}
+	}
+
+	// the characters read ahead for a unit are released once it is consumed, even if its contents were not used
+	private void releaseReadAhead(Future<char[]> future) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					this.charsReadAhead.addAndGet(-future.get().length);
+					return;
+				} catch (InterruptedException e) {
+					interrupted = true; // wait for the read in progress, it counts its characters once done
+				} catch (ExecutionException | CancellationException e) {
+					return; // nothing was read ahead
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	private void adaptCacheSize(boolean hit) {
+		if (hit) {
+			this.hitCount++;
+			// the compiler is slower than reading: slowly release memory
+			if (++this.hitsInARow >= this.cacheSize && this.cacheSize > MIN_CACHE_SIZE) {
+				this.cacheSize--;
+				this.hitsInARow = 0;
+			}
+		} else {
+			this.stallCount++;
+			// reading is slower than the compiler: keep more reads in flight
+			this.hitsInARow = 0;
+			this.cacheSize = Math.min(MAX_CACHE_SIZE, this.cacheSize * 2);
 		}
 	}
 
@@ -118,7 +193,7 @@ public class ReadManager {
 	}
 
 	private boolean queueNextReadAhead() {
-		if (this.cache.size() >= CACHE_SIZE) {
+		if (this.cache.size() >= this.cacheSize || this.charsReadAhead.get() >= MAX_CHARS_READ_AHEAD) {
 			return false;
 		}
 		synchronized (this) { // atomic move from unitsToRead to cache
@@ -134,7 +209,9 @@ public class ReadManager {
 
 	private char[] readAhead(ICompilationUnit unit) {
 		queueNextReadAhead();
-		return unit.getContents();
+		char[] contents = unit.getContents();
+		this.charsReadAhead.addAndGet(contents.length);
+		return contents;
 	}
 
 	public void shutdown() {
@@ -20,16 +20,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
@@ -42,7 +42,6 @@ import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
-import org.eclipse.jdt.internal.compiler.util.Util;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class ClasspathJar extends ClasspathLocation {
@@ -53,6 +52,11 @@ protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
+private ClasspathJarCache.Entry cacheEntry; // when the zip file comes from the cache
+private ClasspathJarIndex index;
+
+/** When not null, zip files are kept open across compilations, see CompileServer **/
+static volatile ClasspathJarCache cache;
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -113,9 +117,11 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		char[] modName = this.module == null ? null : this.module.name();
+		ClasspathJarIndex jarIndex = index();
+		IBinaryType reader = BinaryTypeCache.get(getPath(), jarIndex.lastModified, jarIndex.length, qualifiedBinaryFileName, modName,
+				() -> ClassFileReader.read(this.zipFile, qualifiedBinaryFileName));
 		if (reader != null) {
-			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
 				ClassFileReader classReader = (ClassFileReader) reader;
 				if (classReader.moduleName == null)
@@ -160,26 +166,21 @@ public boolean hasAnnotationFileFor(String qualifiedTypeName) {
 public char[][][] findTypeNames(final String qualifiedPackageName, String moduleName) {
 	if (!isPackage(qualifiedPackageName, moduleName))
 		return null; // most common case
+	if (qualifiedPackageName.isEmpty())
+		return null; // types of the default package are not answered
+	String[] fileNames = index().getFileNames(qualifiedPackageName);
+	if (fileNames == null)
+		return null;
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-
-		// add the package name & all of its parent packages
-		int last = fileName.lastIndexOf('/');
-		if (last > 0) {
-			// extract the package name
-			String packageName = fileName.substring(0, last);
-			if (!qualifiedPackageName.equals(packageName))
-				continue nextEntry;
-			int indexOfDot = fileName.lastIndexOf('.');
-			if (indexOfDot != -1) {
-				String typeName = fileName.substring(last + 1, indexOfDot);
-				answers.add(
-					CharOperation.arrayConcat(
-						CharOperation.splitOn('/', packageArray),
-						typeName.toCharArray()));
-			}
+	for (String fileName : fileNames) {
+		int indexOfDot = fileName.lastIndexOf('.');
+		if (indexOfDot != -1) {
+			String typeName = fileName.substring(0, indexOfDot);
+			answers.add(
+				CharOperation.arrayConcat(
+					CharOperation.splitOn('/', packageArray),
+					typeName.toCharArray()));
 		}
 	}
 	int size = answers.size();
@@ -194,7 +195,13 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 @Override
 public void initialize() throws IOException {
 	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+		ClasspathJarCache jarCache = cache;
+		if (jarCache != null) {
+			this.cacheEntry = jarCache.open(this.file);
+			this.zipFile = this.cacheEntry.zipFile;
+		} else {
+			this.zipFile = new ZipFile(this.file);
+		}
 	}
 }
 void acceptModule(ClassFileReader reader) {
@@ -228,28 +235,24 @@ protected void addToPackageCache(String fileName, boolean endsWithSep) {
 }
 @Override
 public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
-	if (this.packageCache != null)
-		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
-
-	this.packageCache = new HashSet<>(41);
-	this.packageCache.add(Util.EMPTY_STRING);
-
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		addToPackageCache(fileName, false);
-	}
-	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	return singletonModuleNameIf(index().containsPackage(qualifiedPackageName));
+}
+/**
+ * Answers the index of the entries of the zip file, shared with the other class paths on the same jar.
+ */
+protected synchronized ClasspathJarIndex index() {
+	if (this.index == null)
+		this.index = ClasspathJarIndex.get(this.file, getPath(), this.zipFile);
+	return this.index;
 }
 @Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
-	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
-			String tail = fileName.substring(qualifiedPackageName.length());
-			if (tail.indexOf('/') != -1)
-				continue;
-			if (tail.toLowerCase().endsWith(SUFFIX_STRING_class))
+	if (qualifiedPackageName.isEmpty())
+		return false; // compilation units of the default package are not answered
+	String[] fileNames = index().getFileNames(qualifiedPackageName);
+	if (fileNames != null) {
+		for (String fileName : fileNames) {
+			if (fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
 				return true;
 		}
 	}
@@ -258,19 +261,28 @@ public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName
 
 @Override
 public char[][] listPackages() {
-	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		int lastSlash = fileName.lastIndexOf('/');
-		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
-			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
+	List<char[]> packageNames = new ArrayList<>();
+	for (Map.Entry<String, String[]> entry : index().packages()) {
+		if (entry.getKey().isEmpty())
+			continue; // the default package is not listed
+		for (String fileName : entry.getValue()) {
+			if (fileName.toLowerCase().endsWith(SUFFIX_STRING_class)) {
+				packageNames.add(entry.getKey().replace('/', '.').toCharArray());
+				break;
+			}
+		}
 	}
-	return packageNames.stream().map(String::toCharArray).toArray(char[][]::new);
+	return packageNames.toArray(new char[packageNames.size()][]);
 }
 
 @Override
 public void reset() {
 	super.reset();
+	if (this.cacheEntry != null) {
+		// the cache owns the zip file
+		this.zipFile = null;
+		this.cacheEntry = null;
+	}
 	if (this.closeZipFileAtEnd) {
 		if (this.zipFile != null) {
 			try {
@@ -290,6 +302,7 @@ public void reset() {
 		}
 	}
 	this.packageCache = null;
+	this.index = null; // checked again against the jar on next use
 	this.annotationPaths = null;
 }
 @Override
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+/**
+ * Keeps the zip files of the classpath open across compilations
+ * of a long living compiler (see {@link CompileServer}).
+ * <p>
+ * An entry is discarded and the zip file reopened as soon as the time stamp or the size of the
+ * file changed, like the builder does for its own jar caches.
+ * </p>
+ */
+class ClasspathJarCache {
+
+	static class Entry {
+		final ZipFile zipFile;
+		final long lastModified;
+		final long length;
+
+		Entry(ZipFile zipFile, long lastModified, long length) {
+			this.zipFile = zipFile;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
+
+	private final Map<File, Entry> entries = new HashMap<>();
+
+@SuppressWarnings("resource") // the cached zip file is closed once its entry is replaced or cleared
+synchronized Entry open(File file) throws IOException {
+	long lastModified = file.lastModified();
+	long length = file.length();
+	Entry entry = this.entries.get(file);
+	if (entry != null) {
+		if (entry.lastModified == lastModified && entry.length == length)
+			return entry;
+		this.entries.remove(file);
+		close(entry);
+	}
+	ZipFile zipFile = new ZipFile(file);
+	try {
+		entry = new Entry(zipFile, lastModified, length);
+		this.entries.put(file, entry);
+	} catch (RuntimeException | Error e) {
+		zipFile.close(); // never cached
+		throw e;
+	}
+	return entry;
+}
+
+synchronized void clear() {
+	for (Iterator<Entry> iterator = this.entries.values().iterator(); iterator.hasNext();) {
+		close(iterator.next());
+		iterator.remove();
+	}
+}
+
+private static void close(Entry entry) {
+	try {
+		entry.zipFile.close();
+	} catch (IOException e) {
+		// ignore
+	}
+}
+}
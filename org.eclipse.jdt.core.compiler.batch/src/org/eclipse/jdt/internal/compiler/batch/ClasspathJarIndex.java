@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Index of the entries of a jar, by package, computed once from its central directory.
+ * <p>
+ * Package and type queries are answered from the index instead of enumerating all the entries.
+ * Indexes are shared by all the class paths of the JVM, an index being computed again as soon as
+ * the time stamp or the size of its jar changed. The class paths hold the index of their jar, the shared
+ * indexes are only softly reachable so that the indexes of the jars no longer used can be reclaimed.
+ * </p>
+ */
+class ClasspathJarIndex {
+
+	private static final String[] NO_FILE_NAMES = new String[0];
+
+	private static final Map<String, IndexReference> INDEXES = new ConcurrentHashMap<>();
+	private static final ReferenceQueue<ClasspathJarIndex> RECLAIMED_INDEXES = new ReferenceQueue<>();
+
+	private static final class IndexReference extends SoftReference<ClasspathJarIndex> {
+		final String path;
+		IndexReference(String path, ClasspathJarIndex index) {
+			super(index, RECLAIMED_INDEXES);
+			this.path = path;
+		}
+	}
+
+	final long lastModified;
+	final long length;
+	// package name ('/' separated, "" for the default package) -> sorted names of the files directly inside the package
+	private final Map<String, String[]> packages;
+
+private ClasspathJarIndex(long lastModified, long length, Map<String, String[]> packages) {
+	this.lastModified = lastModified;
+	this.length = length;
+	this.packages = packages;
+}
+
+/**
+ * Answers the index of the given jar, computing it from the given zip file if the jar was not indexed yet or changed since.
+ */
+static ClasspathJarIndex get(File file, String path, ZipFile zipFile) {
+	for (Reference<? extends ClasspathJarIndex> reference; (reference = RECLAIMED_INDEXES.poll()) != null;)
+		INDEXES.remove(((IndexReference) reference).path, reference);
+	ClasspathJarIndex[] result = new ClasspathJarIndex[1]; // strongly reachable until answered
+	INDEXES.compute(path, (key, reference) -> {
+		long lastModified = file.lastModified();
+		long length = file.length();
+		ClasspathJarIndex index = reference == null ? null : reference.get();
+		if (index != null && index.lastModified == lastModified && index.length == length) {
+			result[0] = index;
+			return reference;
+		}
+		result[0] = create(lastModified, length, zipFile);
+		return new IndexReference(key, result[0]);
+	});
+	return result[0];
+}
+
+private static ClasspathJarIndex create(long lastModified, long length, ZipFile zipFile) {
+	Map<String, List<String>> fileNames = new HashMap<>();
+	fileNames.put(Util.EMPTY_STRING, new ArrayList<>());
+	for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
+		String entryName = e.nextElement().getName();
+		int last = entryName.lastIndexOf('/');
+		List<String> names = last > 0 ? addPackage(fileNames, entryName.substring(0, last)) : fileNames.get(Util.EMPTY_STRING);
+		if (last < entryName.length() - 1) // not a directory
+			names.add(entryName.substring(last + 1));
+	}
+	Map<String, String[]> packages = new HashMap<>((int) (fileNames.size() / 0.75f) + 1);
+	for (Map.Entry<String, List<String>> entry : fileNames.entrySet()) {
+		List<String> names = entry.getValue();
+		if (names.isEmpty()) {
+			packages.put(entry.getKey(), NO_FILE_NAMES);
+		} else {
+			String[] sortedNames = names.toArray(new String[names.size()]);
+			Arrays.sort(sortedNames);
+			packages.put(entry.getKey(), sortedNames);
+		}
+	}
+	return new ClasspathJarIndex(lastModified, length, packages);
+}
+
+// adds the package and all its parent packages, answers the file names of the package
+private static List<String> addPackage(Map<String, List<String>> fileNames, String packageName) {
+	List<String> names = fileNames.get(packageName);
+	if (names != null)
+		return names;
+	names = new ArrayList<>();
+	fileNames.put(packageName, names);
+	for (int last = packageName.lastIndexOf('/'); last > 0; last = packageName.lastIndexOf('/', last - 1)) {
+		String parentName = packageName.substring(0, last);
+		if (fileNames.containsKey(parentName))
+			break;
+		fileNames.put(parentName, new ArrayList<>());
+	}
+	return names;
+}
+
+boolean containsPackage(String packageName) {
+	return this.packages.containsKey(packageName);
+}
+
+/**
+ * Answers the sorted names of the files directly inside the given package, or null if there is no such package.
+ */
+String[] getFileNames(String packageName) {
+	return this.packages.get(packageName);
+}
+
+Set<Map.Entry<String, String[]>> packages() {
+	return this.packages.entrySet();
+}
+}
@@ -30,6 +30,7 @@ import java.util.function.Function;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
@@ -44,6 +45,11 @@ import org.eclipse.jdt.internal.compiler.util.Util;
 public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 
 	Map<String, IModule> modules;
+	// signature files of the release are looked up through the index shared with the builder
+	private CtSym ctSym;
+	private String ctSymPath;
+	private long ctSymLastModified;
+	private long ctSymLength;
 	static String MODULE_INFO = "module-info.sig"; //$NON-NLS-1$
 
 	public ClasspathJep247Jdk12(File jdkHome, String release, AccessRuleSet accessRuleSet) {
@@ -68,7 +74,22 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 			byte[] content = null;
 			char[] foundModName = null;
 			qualifiedBinaryFileName = qualifiedBinaryFileName.replace(".class", ".sig"); //$NON-NLS-1$ //$NON-NLS-2$
-			if (this.subReleases != null && this.subReleases.length > 0) {
+			if (this.ctSym != null) {
+				p = this.ctSym.getFullPath(this.releaseInHex, qualifiedBinaryFileName, moduleName);
+				if (p == null)
+					return null;
+				char[] modName = moduleName != null ? moduleName.toCharArray() : JRTUtil.sanitizedFileName(p.getName(1)).toCharArray();
+				Path sigPath = p;
+				String binaryFileName = qualifiedBinaryFileName;
+				reader = BinaryTypeCache.get(this.ctSymPath, this.ctSymLastModified, this.ctSymLength, p.toString(), modName, () -> {
+					byte[] bytes = this.ctSym.getFileBytes(sigPath);
+					return bytes == null ? null : new ClassFileReader(sigPath.toUri(), bytes, binaryFileName.toCharArray());
+				});
+				if (reader == null)
+					return null;
+				reader = maybeDecorateForExternalAnnotations(qualifiedBinaryFileName, reader);
+				return new NameEnvironmentAnswer(reader, fetchAccessRestriction(qualifiedBinaryFileName), modName);
+			} else if (this.subReleases != null && this.subReleases.length > 0) {
 				done: for (String rel : this.subReleases) {
 					if (moduleName == null) {
 						p = this.fs.getPath(rel);
@@ -144,6 +165,12 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 				e.printStackTrace();
 			}
 		}
+		if (this.subReleases != null && this.subReleases.length > 0 && !CtSym.DISABLE_CACHE) {
+			this.ctSym = JRTUtil.getCtSym(this.jdkHome.toPath());
+			this.ctSymPath = filePath.toString();
+			this.ctSymLastModified = Files.getLastModifiedTime(filePath).toMillis();
+			this.ctSymLength = Files.size(filePath);
+		}
 		super.initialize();
 	}
 	@Override
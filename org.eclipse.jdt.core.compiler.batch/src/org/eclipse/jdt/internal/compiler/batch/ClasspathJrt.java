@@ -31,6 +31,7 @@ import java.util.function.Function;
 import java.util.zip.ZipFile;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
@@ -52,6 +53,7 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 	protected static final Map<String, Map<String,IModule>> ModulesCache = new ConcurrentHashMap<>();
 	public final Set<String> moduleNamesCache;
 	protected List<String> annotationPaths;
+	private long[] imageStamp; // time stamp and size of the modules image, read on first use
 
 	public ClasspathJrt(File file, boolean closeZipFileAtEnd,
 			AccessRuleSet accessRuleSet, String destinationPath) {
@@ -84,7 +86,7 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 			return null; // most common case
 
 		try {
-			IBinaryType reader = ClassFileReader.readFromModule(this.file, moduleName, qualifiedBinaryFileName, this.moduleNamesCache::contains);
+			IBinaryType reader = readFromModule(moduleName, qualifiedBinaryFileName);
 
 			if (reader != null) {
 				reader = maybeDecorateForExternalAnnotations(qualifiedBinaryFileName, reader);
@@ -99,6 +101,35 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 		return null;
 	}
 
+	private ClassFileReader readFromModule(String moduleName, String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+		if (!BinaryTypeCache.isEnabled())
+			return ClassFileReader.readFromModule(this.file, moduleName, qualifiedBinaryFileName, this.moduleNamesCache::contains);
+		long[] stamp = getImageStamp();
+		ClassFileReader reader = BinaryTypeCache.get(this.file.getPath(), stamp[0], stamp[1], qualifiedBinaryFileName, moduleName == null ? null : moduleName.toCharArray(),
+				() -> ClassFileReader.readFromModule(this.file, moduleName, qualifiedBinaryFileName, this.moduleNamesCache::contains));
+		if (reader != null && moduleName == null && !this.moduleNamesCache.contains(String.valueOf(reader.moduleName))) {
+			// cached for another selection of modules
+			return ClassFileReader.readFromModule(this.file, moduleName, qualifiedBinaryFileName, this.moduleNamesCache::contains);
+		}
+		return reader;
+	}
+
+	/*
+	 * The classes of a JDK are all read from its lib/modules image, so an update of the JDK in place
+	 * changes the stamp of that image. Falls back to the stamp of the file itself when there is no image.
+	 */
+	private long[] getImageStamp() {
+		long[] stamp = this.imageStamp;
+		if (stamp == null) {
+			File lib = this.file.getName().equals(JRTUtil.JRT_FS_JAR) ? this.file.getParentFile() : new File(this.file, "lib"); //$NON-NLS-1$
+			File image = new File(lib, "modules"); //$NON-NLS-1$
+			if (!image.isFile())
+				image = this.file;
+			this.imageStamp = stamp = new long[] { image.lastModified(), image.length() };
+		}
+		return stamp;
+	}
+
 	protected IBinaryType maybeDecorateForExternalAnnotations(String qualifiedBinaryFileName, IBinaryType reader) {
 		searchPaths:
 		if (this.annotationPaths != null) {
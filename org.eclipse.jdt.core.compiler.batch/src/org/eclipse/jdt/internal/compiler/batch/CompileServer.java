@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
+
+/**
+ * Long living batch compiler, which serves the compilations requested by short living clients
+ * through a unix domain socket, so that each compilation starts with warm classpath containers
+ * (opened jars and their packages, JRT images, ct.sym) and JIT-compiled code.
+ * <p>
+ * Usage:
+ * <pre>
+ * java ... CompileServer -socket &lt;path&gt;                     start the server
+ * java ... CompileServer -socket &lt;path&gt; &lt;ecj arguments&gt;   compile through the server
+ * java ... CompileServer -socket &lt;path&gt; -stop               stop the server
+ * </pre>
+ * Only the user running the server can connect to it: where the file system supports POSIX permissions,
+ * the socket is bound with owner-only permissions in a private directory, then moved to the given path.
+ * Compilations are performed one at a time, each by a new {@link Main}, with the same
+ * arguments, output and exit code as a standalone compilation. Relative paths are resolved
+ * against the working directory of the server: requests coming from another directory
+ * are rejected.
+ * </p>
+ * <p>
+ * Jars are reopened as soon as their time stamp or size changed, see {@link ClasspathJarCache}. Decoded
+ * class files are kept as well, see {@link BinaryTypeCache}.
+ * </p>
+ */
+public class CompileServer {
+
+	private static final String SOCKET = "-socket"; //$NON-NLS-1$
+	private static final String STOP = "-stop"; //$NON-NLS-1$
+	/** Size of the class files kept decoded across compilations, unless specified otherwise **/
+	private static final long BINARY_TYPE_CACHE_SIZE = 64 * 1024 * 1024;
+
+	private final Path socketPath;
+	private final String workingDirectory = new File("").getAbsolutePath(); //$NON-NLS-1$
+
+public CompileServer(Path socketPath) {
+	this.socketPath = socketPath;
+}
+
+public static void main(String[] argv) throws IOException {
+	if (argv.length < 2 || !SOCKET.equals(argv[0])) {
+		System.err.println("Usage: CompileServer -socket <path> [-stop | <compiler arguments>]"); //$NON-NLS-1$
+		System.exit(-1);
+	}
+	Path socketPath = Path.of(argv[1]);
+	if (argv.length == 2) {
+		new CompileServer(socketPath).serve();
+	} else {
+		System.exit(request(socketPath, Arrays.copyOfRange(argv, 2, argv.length)) ? 0 : -1);
+	}
+}
+
+/**
+ * Sends the given compiler arguments to the server listening on the given socket,
+ * prints the output of the compilation and answers whether it succeeded.
+ */
+public static boolean request(Path socketPath, String[] argv) throws IOException {
+	try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+		DataOutputStream output = new DataOutputStream(Channels.newOutputStream(channel));
+		output.writeUTF(new File("").getAbsolutePath()); //$NON-NLS-1$
+		output.writeInt(argv.length);
+		for (String arg : argv) {
+			output.writeUTF(arg);
+		}
+		output.flush();
+		DataInputStream input = new DataInputStream(Channels.newInputStream(channel));
+		System.out.print(readString(input));
+		System.out.flush();
+		System.err.print(readString(input));
+		System.err.flush();
+		return input.readBoolean();
+	}
+}
+
+/**
+ * Serves the compilation requests until a stop request is received.
+ */
+public void serve() throws IOException {
+	Files.deleteIfExists(this.socketPath); // left over by a previous server
+	ClasspathJarCache jarCache = new ClasspathJarCache();
+	ClasspathJar.cache = jarCache;
+	if (!BinaryTypeCache.isEnabled())
+		BinaryTypeCache.setMaximumSize(BINARY_TYPE_CACHE_SIZE);
+	try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+		bind(server);
+		boolean stop = false;
+		while (!stop) {
+			try (SocketChannel channel = server.accept()) {
+				stop = handle(channel);
+			} catch (IOException e) {
+				// the client went away, keep serving the others
+			}
+		}
+	} finally {
+		ClasspathJar.cache = null;
+		jarCache.clear();
+		Files.deleteIfExists(this.socketPath);
+	}
+}
+
+// binds the server to the socket path, so that no other user can connect to it, not even before its permissions are set
+private void bind(ServerSocketChannel server) throws IOException {
+	Path parent = this.socketPath.toAbsolutePath().getParent();
+	if (Files.getFileAttributeView(parent, PosixFileAttributeView.class) == null) {
+		server.bind(UnixDomainSocketAddress.of(this.socketPath));
+		return;
+	}
+	Path directory = Files.createTempDirectory(parent, ".ecj", //$NON-NLS-1$
+			PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))); //$NON-NLS-1$
+	Path privateSocketPath = directory.resolve("socket"); //$NON-NLS-1$
+	try {
+		server.bind(UnixDomainSocketAddress.of(privateSocketPath));
+		Files.setPosixFilePermissions(privateSocketPath, PosixFilePermissions.fromString("rw-------")); //$NON-NLS-1$
+		Files.move(privateSocketPath, this.socketPath, StandardCopyOption.ATOMIC_MOVE);
+	} finally {
+		Files.deleteIfExists(privateSocketPath);
+		Files.delete(directory);
+	}
+}
+
+// answers whether the server must stop
+private boolean handle(SocketChannel channel) throws IOException {
+	DataInputStream input = new DataInputStream(Channels.newInputStream(channel));
+	String clientDirectory = input.readUTF();
+	String[] argv = new String[input.readInt()];
+	for (int i = 0; i < argv.length; i++) {
+		argv[i] = input.readUTF();
+	}
+	StringWriter out = new StringWriter();
+	StringWriter err = new StringWriter();
+	boolean succeeded;
+	boolean stop = argv.length == 1 && STOP.equals(argv[0]);
+	if (stop) {
+		succeeded = true;
+	} else if (!this.workingDirectory.equals(clientDirectory)) {
+		err.write("The compile server runs in " + this.workingDirectory + ", not in " + clientDirectory + '\n'); //$NON-NLS-1$ //$NON-NLS-2$
+		succeeded = false;
+	} else {
+		try (PrintWriter outWriter = new PrintWriter(out); PrintWriter errWriter = new PrintWriter(err)) {
+			succeeded = new Main(outWriter, errWriter, false /* systemExit */, null /* options */, null /* progress */).compile(argv);
+		} catch (RuntimeException | Error e) {
+			// keep the server alive, the client gets the failure
+			PrintWriter errWriter = new PrintWriter(err);
+			e.printStackTrace(errWriter);
+			errWriter.flush();
+			succeeded = false;
+		}
+	}
+	DataOutputStream output = new DataOutputStream(Channels.newOutputStream(channel));
+	writeString(output, out.toString());
+	writeString(output, err.toString());
+	output.writeBoolean(succeeded);
+	output.flush();
+	return stop;
+}
+
+// unlike writeUTF, not limited to 64K bytes
+private static void writeString(DataOutputStream output, String string) throws IOException {
+	byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+	output.writeInt(bytes.length);
+	output.write(bytes);
+}
+
+private static String readString(DataInputStream input) throws IOException {
+	byte[] bytes = new byte[input.readInt()];
+	input.readFully(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+}
@@ -52,6 +52,7 @@ import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
@@ -90,6 +91,7 @@ import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.batch.ModuleFinder.AddExport;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
@@ -727,6 +729,15 @@ public class Main implements ProblemSeverities, SuffixConstants {
 				}));
 		}
 
+		public void logNoStatsFileCreated(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.noStatsFileCreated", fileName, e.getMessage())); //$NON-NLS-1$
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.noStatsFileCreated", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		public void logNumberOfClassFilesGenerated(int exportedClassFilesCounter) {
 			if ((this.tagBits & Logger.XML) != 0) {
 				HashMap<String, Object> parameters = new HashMap<>();
@@ -1031,6 +1042,28 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (compilerStats.readAheadHits != 0 || compilerStats.readAheadStalls != 0 || compilerStats.readAheadMisses != 0) {
+					printlnOut(
+							this.main.bind("compile.readAhead", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.readAheadHits),
+									String.valueOf(compilerStats.readAheadStalls),
+									String.valueOf(compilerStats.readAheadStallTime),
+									String.valueOf(compilerStats.readAheadMisses),
+								}));
+				}
+				if (compilerStats.binaryTypeCacheHits != 0 || compilerStats.binaryTypeCacheMisses != 0) {
+					printlnOut(
+							this.main.bind("compile.binaryTypeCache", //$NON-NLS-1$
+								String.valueOf(compilerStats.binaryTypeCacheHits),
+								String.valueOf(compilerStats.binaryTypeCacheMisses)));
+				}
+				if (compilerStats.processingQueueFullWaits != 0 || compilerStats.processingQueueEmptyWaits != 0) {
+					printlnOut(
+							this.main.bind("compile.processingQueueWaits", //$NON-NLS-1$
+								String.valueOf(compilerStats.processingQueueFullWaits),
+								String.valueOf(compilerStats.processingQueueEmptyWaits)));
+				}
 			}
 		}
 
@@ -1379,6 +1412,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	private boolean didSpecifyTarget;
 	public String[] encodings;
 	public int exportedClassFilesCounter;
+	private String statsFile; // -Xstats:json=<file>
+	private WriteManager writeManager; // when not null, writes the class files in the background
 	public String[] filenames;
 	public String[] modNames;
 	public String[] classNames;
@@ -2523,6 +2558,11 @@ public void configure(String[] argv) {
 					mode = DEFAULT;
 					continue;
 				}
+				if (currentArg.startsWith("-Xstats:json=")) { //$NON-NLS-1$
+					mode = DEFAULT;
+					this.statsFile = currentArg.substring("-Xstats:json=".length()); //$NON-NLS-1$
+					continue;
+				}
 				// tolerated javac options - quietly filtered out
 				if (currentArg.startsWith("-X")) { //$NON-NLS-1$
 					mode = DEFAULT;
@@ -4651,24 +4691,60 @@ public void outputClassFiles(CompilationResult unitResult) {
 									String.valueOf(this.exportedClassFilesCounter+1),
 									relativeStringName
 								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
-					this.logger.logClassFile(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName);
+					if (this.writeManager != null) {
+						// logged once written, see reportWriteResults()
+						this.writeManager.write(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile.getBytes());
+					} else {
+						Util.writeToDisk(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile);
+						this.logger.logClassFile(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName);
+					}
 					this.exportedClassFilesCounter++;
 				} catch (IOException e) {
 					this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, e);
 				}
 			}
 			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+			if (this.writeManager != null)
+				reportWriteResults();
+		}
+	}
+}
+// Report the class files which were written, or could not be written, in the background so far.
+private void reportWriteResults() {
+	WriteManager.Result result;
+	while ((result = this.writeManager.pollResult()) != null) {
+		if (result.exception() == null) {
+			this.logger.logClassFile(result.generatePackagesStructure(), result.outputPath(), result.relativeFileName());
+		} else {
+			this.logger.logNoClassFileCreated(result.outputPath(), result.relativeFileName(), result.exception());
+			this.exportedClassFilesCounter--;
 		}
 	}
 }
+// Wait until all the class files are written, without hiding the exception of a compilation which did not complete.
+private void shutdownWriteManager(boolean compiled) {
+	try {
+		this.writeManager.shutdown(); // all class files must be written when the compilation ends
+		reportWriteResults();
+	} catch (RuntimeException | Error e) {
+		if (compiled)
+			throw e;
+		// else the exception of the compilation is propagated
+	} finally {
+		this.writeManager = null;
+	}
+}
 /*
  *  Low-level API performing the actual compilation
  */
@@ -4693,6 +4769,28 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		// opt-in: parse method bodies on the given number of worker threads ahead of processing
+		setting = System.getProperty("jdt.compiler.parseAheadThreads"); //$NON-NLS-1$
+		if (setting != null) {
+			try {
+				this.batchCompiler.parseAheadThreads = Integer.parseInt(setting);
+			} catch (NumberFormatException e) {
+				// ignore and keep parsing method bodies on the processing thread
+			}
+		}
+		// opt-in: write the class files on the given number of background threads
+		int writeThreads = 0;
+		setting = System.getProperty("jdt.compiler.writeThreads"); //$NON-NLS-1$
+		if (setting != null) {
+			try {
+				writeThreads = Integer.parseInt(setting);
+			} catch (NumberFormatException e) {
+				// ignore and keep writing the class files on the compiler thread
+			}
+		}
+		// a -d ending with .jar or .zip is always written as an archive, by a single background thread
+		if (writeThreads > 0 || WriteManager.isArchive(this.destinationPath))
+			this.writeManager = new WriteManager(writeThreads, this.destinationPath);
 
 		if (this.compilerOptions.processAnnotations) {
 			initializeAnnotationProcessorManager();
@@ -4705,27 +4803,49 @@ public void performCompilation() {
 		// set the non-externally configurable options.
 		this.compilerOptions.verbose = this.verbose;
 		this.compilerOptions.produceReferenceInfo = this.produceRefInfo;
+		long binaryTypeCacheHits = BinaryTypeCache.getHitCount();
+		long binaryTypeCacheMisses = BinaryTypeCache.getMissCount();
+		boolean compiled = false;
 		try {
 			this.logger.startLoggingSources();
 			this.batchCompiler.compile(getCompilationUnits());
+			compiled = true;
 		} finally {
-			this.logger.endLoggingSources();
+			try {
+				if (this.writeManager != null)
+					shutdownWriteManager(compiled);
+			} finally {
+				this.logger.endLoggingSources();
+			}
 		}
 
 		if (this.extraProblems != null) {
 			loggingExtraProblems();
 			this.extraProblems = null;
 		}
+		this.batchCompiler.stats.binaryTypeCacheHits = BinaryTypeCache.getHitCount() - binaryTypeCacheHits;
+		this.batchCompiler.stats.binaryTypeCacheMisses = BinaryTypeCache.getMissCount() - binaryTypeCacheMisses;
 		if (this.compilerStats != null) {
 			this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 		}
 		this.logger.printStats();
+		if (this.statsFile != null) {
+			writeStats(this.batchCompiler.stats);
+		}
 	}
 	finally {
 	// cleanup
 		environment.cleanup();
 	}
 }
+// Write the statistics of the last compilation as JSON into the -Xstats:json file.
+private void writeStats(CompilerStats stats) {
+	try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(this.statsFile), StandardCharsets.UTF_8)) {
+		writer.write(stats.toJSON());
+	} catch (IOException e) {
+		this.logger.logNoStatsFileCreated(this.statsFile, e);
+	}
+}
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
 }
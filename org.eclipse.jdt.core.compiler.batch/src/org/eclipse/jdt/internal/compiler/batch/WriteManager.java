@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Writes the generated class files on background threads, so that compilation overlaps with disk i/o.
+ * <p>
+ * The queue of pending writes is bounded: the compiler thread waits when the disk is slower than the compiler.
+ * The directories of a package are created (and checked) once. When the destination is an archive (a path ending
+ * with <code>.jar</code> or <code>.zip</code>), the class files are written into it by a single thread, in the order
+ * they were generated, and are only answered as written once the archive is closed.
+ * The outcome of the writes is not reported by the writing threads but queued, see {@link #pollResult()}. Whatever
+ * fails, the writing threads keep taking the queued class files, so that the compiler thread never waits for them forever.
+ * </p>
+ */
+public class WriteManager {
+	/** Upper bound for the number of writing threads, whatever the requested number **/
+	public static final int MAX_THREAD_COUNT = 8;
+	private static final int QUEUE_SIZE = 256; // do not keep too many class files in memory
+
+	/** Threads are created on demand and reused on subsequent builds **/
+	private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, "Compiler Class File Writer"); //$NON-NLS-1$
+		t.setDaemon(true);
+		return t;
+	});
+
+	/** A class file to write, or the end of the writes (END) **/
+	private record Write(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+		// no specific behavior
+	}
+	private static final Write END = new Write(false, null, null, null);
+
+	/** A class file which was written, or could not be written if the exception is not null **/
+	public record Result(boolean generatePackagesStructure, String outputPath, String relativeFileName, IOException exception) {
+		// no specific behavior
+	}
+
+	private final BlockingQueue<Write> writes = new ArrayBlockingQueue<>(QUEUE_SIZE);
+	private final Future<?>[] writers;
+	private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+	// output directory + package directory -> prefix of the file names in the package, once the directories are created
+	private final Map<String, String> createdDirectories = new ConcurrentHashMap<>();
+	private final String archiveDestinationPath;
+	private ZipOutputStream archive; // only accessed by the single writing thread in archive mode
+	private final List<Result> archived = new ArrayList<>(); // the entries written into the archive until it is closed
+
+public WriteManager(int threadCount, String destinationPath) {
+	if (isArchive(destinationPath)) {
+		this.archiveDestinationPath = destinationPath;
+		threadCount = 1; // archive entries cannot be written concurrently
+	} else {
+		this.archiveDestinationPath = null;
+		threadCount = Math.max(1, Math.min(MAX_THREAD_COUNT, threadCount));
+	}
+	this.writers = new Future<?>[threadCount];
+	for (int i = 0; i < threadCount; i++) {
+		this.writers[i] = executor.submit(() -> {
+			writeAll();
+			return null;
+		});
+	}
+}
+
+public static boolean isArchive(String destinationPath) {
+	if (destinationPath == null)
+		return false;
+	String lowerCase = destinationPath.toLowerCase();
+	return lowerCase.endsWith(".jar") || lowerCase.endsWith(".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+/**
+ * Queues the given class file contents to be written, waits if too many writes are pending.
+ * Meant to be called by the compiler thread only.
+ */
+public void write(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+	put(new Write(generatePackagesStructure, outputPath, relativeFileName, bytes));
+}
+
+/**
+ * Answers the outcome of the next completed write which was not reported yet, or null if none.
+ */
+public Result pollResult() {
+	return this.results.poll();
+}
+
+/**
+ * Waits until all the queued class files are written. The outcomes are still available through {@link #pollResult()}.
+ */
+public void shutdown() throws Error {
+	for (int i = 0; i < this.writers.length; i++) {
+		put(END);
+	}
+	boolean interrupted = false;
+	try {
+		for (Future<?> writer : this.writers) {
+			while (true) {
+				try {
+					writer.get();
+					break;
+				} catch (InterruptedException e) {
+					// class files must be complete when the compilation ends
+					interrupted = true;
+				}
+			}
+		}
+	} catch (ExecutionException e) {
+		// rethrow the caught exception from the writing threads in the compiler thread
+		if (e.getCause() instanceof Error err) {
+			throw err;
+		}
+		if (e.getCause() instanceof RuntimeException ex) {
+			throw ex;
+		}
+		throw new RuntimeException(e);
+	} finally {
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
+
+private void put(Write write) {
+	boolean interrupted = false;
+	while (true) {
+		try {
+			this.writes.put(write);
+			break;
+		} catch (InterruptedException e) {
+			interrupted = true;
+		}
+	}
+	if (interrupted)
+		Thread.currentThread().interrupt();
+}
+
+private void writeAll() {
+	boolean interrupted = false;
+	try {
+		while (true) {
+			Write write;
+			try {
+				write = this.writes.take();
+			} catch (InterruptedException e) {
+				// the compiler thread waits until END is taken
+				interrupted = true;
+				continue;
+			}
+			if (write == END)
+				break;
+			try {
+				if (this.archiveDestinationPath != null && this.archiveDestinationPath.equals(write.outputPath)) {
+					writeToArchive(write);
+					this.archived.add(result(write, null));
+				} else {
+					writeToDisk(write);
+					this.results.offer(result(write, null));
+				}
+			} catch (IOException e) {
+				this.results.offer(result(write, e));
+			} catch (RuntimeException | Error e) {
+				this.results.offer(result(write, new IOException(e)));
+			}
+		}
+	} finally {
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		if (this.archive != null) {
+			try {
+				this.archive.close();
+				this.results.addAll(this.archived);
+			} catch (IOException e) {
+				// none of the entries can be read from the archive
+				for (Result entry : this.archived) {
+					this.results.offer(new Result(entry.generatePackagesStructure, this.archiveDestinationPath, entry.relativeFileName, e));
+				}
+			}
+			this.archived.clear();
+			this.archive = null;
+		}
+	}
+}
+
+private static Result result(Write write, IOException exception) {
+	return new Result(write.generatePackagesStructure, write.outputPath, write.relativeFileName, exception);
+}
+
+private void writeToArchive(Write write) throws IOException {
+	if (this.archive == null) {
+		File file = new File(this.archiveDestinationPath);
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		this.archive = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+	}
+	this.archive.putNextEntry(new ZipEntry(write.relativeFileName.replace(File.separatorChar, '/')));
+	this.archive.write(write.bytes);
+	this.archive.closeEntry();
+}
+
+private void writeToDisk(Write write) throws IOException {
+	if (!write.generatePackagesStructure) {
+		Util.writeToDisk(false, write.outputPath, write.relativeFileName, write.bytes);
+		return;
+	}
+	String relativeFileName = write.relativeFileName;
+	int separatorIndex = relativeFileName.lastIndexOf(File.separatorChar);
+	String directoryKey = write.outputPath + File.pathSeparatorChar + (separatorIndex == -1 ? "" : relativeFileName.substring(0, separatorIndex)); //$NON-NLS-1$
+	String prefix = this.createdDirectories.get(directoryKey);
+	String fileName;
+	if (prefix == null) {
+		// first class file of the package: create and check the directories
+		fileName = Util.buildAllDirectoriesInto(write.outputPath, relativeFileName);
+		this.createdDirectories.put(directoryKey, fileName.substring(0, fileName.length() - (relativeFileName.length() - separatorIndex - 1)));
+	} else {
+		fileName = prefix + relativeFileName.substring(separatorIndex + 1);
+	}
+	try (FileOutputStream output = new FileOutputStream(fileName)) {
+		output.write(write.bytes);
+	}
+}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of decoded class files, shared by all the name environments of the JVM (batch compilations,
+ * builder), so that the constant pools of the same library classes are not decoded again by each compilation.
+ * <p>
+ * A class file is identified by its container (the path of a jar or of a JDK), the time stamp and size of
+ * the container, its entry name in the container and the name of the module it is answered for. Cached readers
+ * are fully initialized, i.e. they do not keep the class file bytes and are not modified anymore, so that they
+ * can be answered to several compilations at once.
+ * </p>
+ * <p>
+ * The cache is bounded by the total size of the cached class files, the least recently used readers being
+ * discarded first. Readers are only softly referenced, so that they are discarded as well when memory is low.
+ * The cache is disabled unless a maximum size is given, either through the <code>jdt.compiler.binaryTypeCacheSize</code>
+ * system property (in megabytes) or by {@link #setMaximumSize(long)}.
+ * </p>
+ */
+public final class BinaryTypeCache {
+
+	/** Reads a class file which is not cached yet **/
+	public interface Loader {
+		ClassFileReader load() throws ClassFormatException, IOException;
+	}
+
+	private record Key(String container, long lastModified, long length, String entryName, String moduleName) {
+		// no specific behavior
+	}
+
+	private static final class Entry extends SoftReference<ClassFileReader> {
+		final int length;
+		Entry(ClassFileReader reader) {
+			super(reader);
+			this.length = reader.getClassFileLength();
+		}
+	}
+
+	private static final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true /* access order */);
+	private static volatile long maximumSize = Long.getLong("jdt.compiler.binaryTypeCacheSize", 0) * 1024 * 1024; //$NON-NLS-1$
+	private static long size;
+	private static long hitCount;
+	private static long missCount;
+
+private BinaryTypeCache() {
+	// no instance
+}
+
+/**
+ * Answers the decoded class file for the given entry of the given container, loading it with the given loader
+ * when it is not cached. When the cache is disabled, the loaded reader is answered as is.
+ *
+ * @param container the path of the container
+ * @param lastModified the time stamp of the container, cached readers of previous stamps are not answered
+ * @param length the size of the container, cached readers of previous sizes are not answered
+ * @param entryName the name of the class file in the container
+ * @param moduleName the name of the module the class file is answered for, if any, recorded in the loaded reader
+ *        unless it knows its module already
+ * @param loader reads the class file when it is not cached
+ * @return the reader of the class file, or null if the loader answered null
+ */
+public static ClassFileReader get(String container, long lastModified, long length, String entryName, char[] moduleName, Loader loader)
+		throws ClassFormatException, IOException {
+	if (!isEnabled())
+		return loader.load();
+	Key key = new Key(container, lastModified, length, entryName, moduleName == null ? null : String.valueOf(moduleName));
+	synchronized (entries) {
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			ClassFileReader reader = entry.get();
+			if (reader != null) {
+				hitCount++;
+				return reader;
+			}
+			entries.remove(key); // collected
+			size -= entry.length;
+		}
+	}
+	ClassFileReader reader = loader.load();
+	if (reader == null)
+		return null; // missing class files are not cached
+	if (reader.moduleName == null)
+		reader.moduleName = moduleName;
+	reader.initialize(); // no lazy initialization from now on
+	synchronized (entries) {
+		missCount++;
+		Entry previous = entries.put(key, new Entry(reader));
+		if (previous != null)
+			size -= previous.length; // loaded concurrently
+		size += reader.getClassFileLength();
+		trim();
+	}
+	return reader;
+}
+
+public static boolean isEnabled() {
+	return maximumSize > 0;
+}
+
+/**
+ * Sets the maximum total size in bytes of the class files of the cached types, 0 disabling the cache.
+ */
+public static void setMaximumSize(long bytes) {
+	synchronized (entries) {
+		maximumSize = bytes;
+		trim();
+	}
+}
+
+// discards the least recently used readers until the cache fits into its maximum size
+private static void trim() {
+	for (Iterator<Entry> iterator = entries.values().iterator(); size > maximumSize && iterator.hasNext();) {
+		size -= iterator.next().length;
+		iterator.remove();
+	}
+}
+
+public static void clear() {
+	synchronized (entries) {
+		entries.clear();
+		size = 0;
+	}
+}
+
+/**
+ * Answers the number of class files answered from the cache since the JVM started.
+ */
+public static long getHitCount() {
+	synchronized (entries) {
+		return hitCount;
+	}
+}
+
+/**
+ * Answers the number of class files which had to be loaded (and were cached) since the JVM started.
+ */
+public static long getMissCount() {
+	synchronized (entries) {
+		return missCount;
+	}
+}
+}
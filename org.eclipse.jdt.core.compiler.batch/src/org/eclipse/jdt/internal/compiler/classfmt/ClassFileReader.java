@@ -61,10 +61,11 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private final int constantPoolCount;
 	private AnnotationInfo[] annotations;
 	private TypeAnnotationInfo[] typeAnnotations;
-	private FieldInfo[] fields;
+	private volatile FieldInfo[] fields; // decoded on first access, see getFields()
 	private ModuleInfo moduleDeclaration;
 	public char[] moduleName;
 	private final int fieldsCount;
+	private final int fieldsOffset;
 
 	// initialized in case the .class file is a nested type
 	private InnerClassInfo innerInfo;
@@ -73,8 +74,9 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private final int interfacesCount;
 	private final char[][] permittedSubtypesNames;
 	private int permittedSubtypesCount;
-	private MethodInfo[] methods;
+	private volatile MethodInfo[] methods; // decoded on first access, see getMethods()
 	private final int methodsCount;
+	private final int methodsOffset;
 	private final char[] signature;
 	private char[] sourceName;
 	private final char[] sourceFileName;
@@ -89,6 +91,7 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private int recordComponentsCount;
 	private RecordComponentInfo[] recordComponents;
 	private URI path;
+	private final int classFileLength;
 private static String printTypeModifiers(int modifiers) {
 	java.io.StringWriter out = new java.io.StringWriter();
 	java.io.PrintWriter print = new java.io.PrintWriter(out);
@@ -252,6 +255,7 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 	// all subsequent uses of the constant pool element faster.
 	super(classFileBytes, null, 0);
 	this.classFileName = fileName;
+	this.classFileLength = classFileBytes.length;
 	int readOffset = 10;
 	try {
 		this.version = ((long)u2At(6) << 16) + u2At(4); // major<<16 + minor
@@ -372,31 +376,15 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 		} else {
 			this.interfaceNames = null;
 		}
-		// Read the fields, use exception handlers to catch bad format
+		// Skip the fields and the methods, they are decoded on demand
 		this.fieldsCount = u2At(readOffset);
 		readOffset += 2;
-		if (this.fieldsCount != 0) {
-			FieldInfo field;
-			this.fields = new FieldInfo[this.fieldsCount];
-			for (int i = 0; i < this.fieldsCount; i++) {
-				field = FieldInfo.createField(this.reference, this.constantPoolOffsets, readOffset, this.version);
-				this.fields[i] = field;
-				readOffset += field.sizeInBytes();
-			}
-		}
-		// Read the methods
+		this.fieldsOffset = readOffset;
+		readOffset = skipMembers(readOffset, this.fieldsCount, ClassFormatException.ErrBadFieldInfo);
 		this.methodsCount = u2At(readOffset);
 		readOffset += 2;
-		if (this.methodsCount != 0) {
-			this.methods = new MethodInfo[this.methodsCount];
-			boolean isAnnotationType = (accessFlag & ClassFileConstants.AccAnnotation) != 0;
-			for (int i = 0; i < this.methodsCount; i++) {
-				this.methods[i] = isAnnotationType
-					? AnnotationMethodInfo.createAnnotationMethod(this.reference, this.constantPoolOffsets, readOffset, this.version)
-					: MethodInfo.createMethod(this.reference, this.constantPoolOffsets, readOffset, this.version);
-				readOffset += this.methods[i].sizeInBytes();
-			}
-		}
+		this.methodsOffset = readOffset;
+		readOffset = skipMembers(readOffset, this.methodsCount, ClassFormatException.ErrBadMethodInfo);
 
 		// Read the attributes
 		int attributesCount = u2At(readOffset);
@@ -742,12 +730,67 @@ public char[] getEnclosingTypeName() {
 	return this.enclosingTypeName;
 }
 
+// answers the offset following the given number of field_info or method_info structures, after checking that their names,
+// descriptors and attributes can be decoded on demand: a malformed member must fail the construction of the reader
+private int skipMembers(int readOffset, int count, int errorCode) throws ClassFormatException {
+	for (int i = 0; i < count; i++) {
+		int memberOffset = readOffset;
+		if (!isUtf8Index(u2At(readOffset + 2)) || !isUtf8Index(u2At(readOffset + 4)))
+			throw new ClassFormatException(null, this.classFileName, errorCode, memberOffset);
+		int attributesCount = u2At(readOffset + 6);
+		readOffset += 8;
+		for (int j = 0; j < attributesCount; j++) {
+			if (!isUtf8Index(u2At(readOffset)))
+				throw new ClassFormatException(null, this.classFileName, errorCode, memberOffset);
+			long attributeEnd = readOffset + 6 + u4At(readOffset + 2);
+			if (attributeEnd > this.reference.length)
+				throw new ClassFormatException(null, this.classFileName, ClassFormatException.ErrTruncatedInput, readOffset);
+			readOffset = (int) attributeEnd;
+		}
+	}
+	return readOffset;
+}
+
+private boolean isUtf8Index(int index) {
+	return index > 0 && index < this.constantPoolCount && this.constantPoolOffsets[index] != 0
+			&& u1At(this.constantPoolOffsets[index]) == ClassFileConstants.Utf8Tag;
+}
+
+private synchronized void decodeFields() {
+	if (this.fields != null)
+		return; // decoded concurrently
+	FieldInfo[] decodedFields = new FieldInfo[this.fieldsCount];
+	int readOffset = this.fieldsOffset;
+	for (int i = 0; i < this.fieldsCount; i++) {
+		decodedFields[i] = FieldInfo.createField(this.reference, this.constantPoolOffsets, readOffset, this.version);
+		readOffset += decodedFields[i].sizeInBytes();
+	}
+	this.fields = decodedFields;
+}
+
+private synchronized void decodeMethods() {
+	if (this.methods != null)
+		return; // decoded concurrently
+	MethodInfo[] decodedMethods = new MethodInfo[this.methodsCount];
+	boolean isAnnotationType = (this.accessFlags & ClassFileConstants.AccAnnotation) != 0;
+	int readOffset = this.methodsOffset;
+	for (int i = 0; i < this.methodsCount; i++) {
+		decodedMethods[i] = isAnnotationType
+			? AnnotationMethodInfo.createAnnotationMethod(this.reference, this.constantPoolOffsets, readOffset, this.version)
+			: MethodInfo.createMethod(this.reference, this.constantPoolOffsets, readOffset, this.version);
+		readOffset += decodedMethods[i].sizeInBytes();
+	}
+	this.methods = decodedMethods;
+}
+
 /**
  * Answer the receiver's this.fields or null if the array is empty.
  * @return org.eclipse.jdt.internal.compiler.api.IBinaryField[]
  */
 @Override
 public IBinaryField[] getFields() {
+	if (this.fields == null && this.fieldsCount != 0)
+		decodeFields();
 	return this.fields;
 }
 /**
@@ -767,6 +810,13 @@ public IBinaryModule getModuleDeclaration() {
 	return this.moduleDeclaration;
 }
 
+/**
+ * Answer the size in bytes of the .class file this reader was created from.
+ */
+public int getClassFileLength() {
+	return this.classFileLength;
+}
+
 /**
  * @see org.eclipse.jdt.internal.compiler.env.IDependent#getFileName()
  */
@@ -872,6 +922,8 @@ public IBinaryNestedType[] getMemberTypes() {
  */
 @Override
 public IBinaryMethod[] getMethods() {
+	if (this.methods == null && this.methodsCount != 0)
+		decodeMethods();
 	return this.methods;
 }
 
@@ -995,17 +1047,27 @@ public long getVersion() {
 	return this.version;
 }
 
-private boolean hasNonSyntheticFieldChanges(FieldInfo[] currentFieldInfos, FieldInfo[] otherFieldInfos) {
+private static boolean isExcluded(FieldInfo fieldInfo, boolean excludesPrivate) {
+	return fieldInfo.isSynthetic()
+		|| (excludesPrivate && (fieldInfo.getModifiers() & ClassFileConstants.AccPrivate) != 0);
+}
+
+private static boolean isExcluded(MethodInfo methodInfo, boolean excludesPrivate) {
+	return methodInfo.isSynthetic() || methodInfo.isClinit()
+		|| (excludesPrivate && (methodInfo.getModifiers() & ClassFileConstants.AccPrivate) != 0);
+}
+
+private boolean hasNonSyntheticFieldChanges(FieldInfo[] currentFieldInfos, FieldInfo[] otherFieldInfos, boolean excludesPrivate) {
 	int length1 = currentFieldInfos == null ? 0 : currentFieldInfos.length;
 	int length2 = otherFieldInfos == null ? 0 : otherFieldInfos.length;
 	int index1 = 0;
 	int index2 = 0;
 
 	end : while (index1 < length1 && index2 < length2) {
-		while (currentFieldInfos[index1].isSynthetic()) {
+		while (isExcluded(currentFieldInfos[index1], excludesPrivate)) {
 			if (++index1 >= length1) break end;
 		}
-		while (otherFieldInfos[index2].isSynthetic()) {
+		while (isExcluded(otherFieldInfos[index2], excludesPrivate)) {
 			if (++index2 >= length2) break end;
 		}
 		if (hasStructuralFieldChanges(currentFieldInfos[index1++], otherFieldInfos[index2++]))
@@ -1013,26 +1075,25 @@ private boolean hasNonSyntheticFieldChanges(FieldInfo[] currentFieldInfos, Field
 	}
 
 	while (index1 < length1) {
-		if (!currentFieldInfos[index1++].isSynthetic()) return true;
+		if (!isExcluded(currentFieldInfos[index1++], excludesPrivate)) return true;
 	}
 	while (index2 < length2) {
-		if (!otherFieldInfos[index2++].isSynthetic()) return true;
+		if (!isExcluded(otherFieldInfos[index2++], excludesPrivate)) return true;
 	}
 	return false;
 }
 
-private boolean hasNonSyntheticMethodChanges(MethodInfo[] currentMethodInfos, MethodInfo[] otherMethodInfos) {
+private boolean hasNonSyntheticMethodChanges(MethodInfo[] currentMethodInfos, MethodInfo[] otherMethodInfos, boolean excludesPrivate) {
 	int length1 = currentMethodInfos == null ? 0 : currentMethodInfos.length;
 	int length2 = otherMethodInfos == null ? 0 : otherMethodInfos.length;
 	int index1 = 0;
 	int index2 = 0;
 
-	MethodInfo m;
 	end : while (index1 < length1 && index2 < length2) {
-		while ((m = currentMethodInfos[index1]).isSynthetic() || m.isClinit()) {
+		while (isExcluded(currentMethodInfos[index1], excludesPrivate)) {
 			if (++index1 >= length1) break end;
 		}
-		while ((m = otherMethodInfos[index2]).isSynthetic() || m.isClinit()) {
+		while (isExcluded(otherMethodInfos[index2], excludesPrivate)) {
 			if (++index2 >= length2) break end;
 		}
 		if (hasStructuralMethodChanges(currentMethodInfos[index1++], otherMethodInfos[index2++]))
@@ -1040,10 +1101,10 @@ private boolean hasNonSyntheticMethodChanges(MethodInfo[] currentMethodInfos, Me
 	}
 
 	while (index1 < length1) {
-		if (!((m = currentMethodInfos[index1++]).isSynthetic() || m.isClinit())) return true;
+		if (!isExcluded(currentMethodInfos[index1++], excludesPrivate)) return true;
 	}
 	while (index2 < length2) {
-		if (!((m = otherMethodInfos[index2++]).isSynthetic() || m.isClinit())) return true;
+		if (!isExcluded(otherMethodInfos[index2++], excludesPrivate)) return true;
 	}
 	return false;
 }
@@ -1067,6 +1128,15 @@ public boolean hasStructuralChanges(byte[] newBytes) {
 	return hasStructuralChanges(newBytes, true, true);
 }
 
+/**
+ * Same as {@link #hasStructuralChanges(byte[])}, for a .class file which is already read.
+ * @param newClassFile the reader of the .class file we want to compare the receiver to
+ * @return boolean Returns true is there is a structural change between the two .class files, false otherwise
+ */
+public boolean hasStructuralChanges(ClassFileReader newClassFile) {
+	return hasStructuralChanges(newClassFile, true, true);
+}
+
 /**
  * Check if the receiver has structural changes compare to the byte array in argument.
  * Structural changes are:
@@ -1085,155 +1155,269 @@ public boolean hasStructuralChanges(byte[] newBytes) {
  */
 public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, boolean excludesSynthetic) {
 	try {
-		ClassFileReader newClassFile =
-			new ClassFileReader(newBytes, this.classFileName);
-		// type level comparison
-		// modifiers
-		if (getModifiers() != newClassFile.getModifiers())
-			return true;
-
-		// only consider a portion of the tagbits which indicate a structural change for dependents
-		// e.g. @Override change has no influence outside
-		long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
-			| TagBits.AnnotationDeprecated // different @Deprecated status ?
-			| TagBits.AnnotationRetentionMASK // different @Retention status ?
-			| TagBits.HierarchyHasProblems; // different hierarchy status ?
+		return hasStructuralChanges(new ClassFileReader(newBytes, this.classFileName), orderRequired, excludesSynthetic);
+	} catch (ClassFormatException e) {
+		return true;
+	}
+}
 
-		// meta-annotations
-		if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
-			return true;
-		// annotations
-		if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
-			return true;
-		if (this.version >= ClassFileConstants.JDK1_8
-				&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
-			return true;
+private boolean hasStructuralChanges(ClassFileReader newClassFile, boolean orderRequired, boolean excludesSynthetic) {
+	if (hasStructuralTypeChanges(newClassFile))
+		return true;
 
-		// generic signature
-		if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
+	// fields
+	getFields();
+	FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
+	int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
+	boolean compareFields = true;
+	if (this.fieldsCount == otherFieldInfosLength) {
+		int i = 0;
+		for (; i < this.fieldsCount; i++)
+			if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i])) break;
+		if ((compareFields = i != this.fieldsCount) && !orderRequired && !excludesSynthetic)
 			return true;
-		// superclass
-		if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
+	}
+	if (compareFields) {
+		if (this.fieldsCount != otherFieldInfosLength && !excludesSynthetic)
 			return true;
-		// interfaces
-		char[][] newInterfacesNames = newClassFile.getInterfaceNames();
-		if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
-			int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
-			if (newInterfacesLength != this.interfacesCount)
+		if (orderRequired) {
+			if (this.fieldsCount != 0)
+				Arrays.sort(this.fields);
+			if (otherFieldInfosLength != 0)
+				Arrays.sort(otherFieldInfos);
+		}
+		if (excludesSynthetic) {
+			if (hasNonSyntheticFieldChanges(this.fields, otherFieldInfos, false))
 				return true;
-			for (int i = 0, max = this.interfacesCount; i < max; i++)
-				if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
+		} else {
+			for (int i = 0; i < this.fieldsCount; i++)
+				if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i]))
 					return true;
 		}
+	}
 
-		// permitted sub-types
-		char[][] newPermittedSubtypeNames = newClassFile.getPermittedSubtypeNames();
-		if (this.permittedSubtypesNames != newPermittedSubtypeNames) {
-			int newPermittedSubtypesLength = newPermittedSubtypeNames == null ? 0 : newPermittedSubtypeNames.length;
-			if (newPermittedSubtypesLength != this.permittedSubtypesCount)
+	// methods
+	getMethods();
+	MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
+	int otherMethodInfosLength = otherMethodInfos == null ? 0 : otherMethodInfos.length;
+	boolean compareMethods = true;
+	if (this.methodsCount == otherMethodInfosLength) {
+		int i = 0;
+		for (; i < this.methodsCount; i++)
+			if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i])) break;
+		if ((compareMethods = i != this.methodsCount) && !orderRequired && !excludesSynthetic)
+			return true;
+	}
+	if (compareMethods) {
+		if (this.methodsCount != otherMethodInfosLength && !excludesSynthetic)
+			return true;
+		if (orderRequired) {
+			if (this.methodsCount != 0)
+				Arrays.sort(this.methods);
+			if (otherMethodInfosLength != 0)
+				Arrays.sort(otherMethodInfos);
+		}
+		if (excludesSynthetic) {
+			if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos, false))
 				return true;
-			for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
-				if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypeNames[i]))
+		} else {
+			for (int i = 0; i < this.methodsCount; i++)
+				if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i]))
 					return true;
 		}
+	}
 
-		// member types
-		IBinaryNestedType[] currentMemberTypes = getMemberTypes();
-		IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
-		if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
-			int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
-			int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
-			if (currentMemberTypeLength != otherMemberTypeLength)
-				return true;
-			for (int i = 0; i < currentMemberTypeLength; i++)
-				if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
-					|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
-						return true;
-		}
+	return false;
+}
 
-		// fields
-		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
-		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
-		boolean compareFields = true;
-		if (this.fieldsCount == otherFieldInfosLength) {
-			int i = 0;
-			for (; i < this.fieldsCount; i++)
-				if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i])) break;
-			if ((compareFields = i != this.fieldsCount) && !orderRequired && !excludesSynthetic)
+/**
+ * Answers the names of the private fields and methods which changed structurally compared to the byte array
+ * in argument, when these are the only structural changes. The synthetic members and the class initializer
+ * are excluded from the comparison, as in {@link #hasStructuralChanges(byte[])}.
+ * <p>
+ * Private members are only accessible from their own compilation unit, so such a change may only affect
+ * another unit which looks up a member of the same name.
+ * </p>
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @return the names of the changed private members, or <code>null</code> if there is any other structural change
+ * or a private constructor changed
+ */
+public char[][] getPrivateMemberChanges(byte[] newBytes) {
+	try {
+		return getPrivateMemberChanges(new ClassFileReader(newBytes, this.classFileName));
+	} catch (ClassFormatException e) {
+		return null;
+	}
+}
+
+/**
+ * Same as {@link #getPrivateMemberChanges(byte[])}, for a .class file which is already read.
+ * @param newClassFile the reader of the .class file we want to compare the receiver to
+ * @return the names of the changed private members, or <code>null</code> if there is any other structural change
+ * or a private constructor changed
+ */
+public char[][] getPrivateMemberChanges(ClassFileReader newClassFile) {
+	if (hasStructuralTypeChanges(newClassFile))
+		return null;
+
+	getFields();
+	FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
+	if (this.fieldsCount != 0)
+		Arrays.sort(this.fields);
+	if (otherFieldInfos != null && otherFieldInfos.length != 0)
+		Arrays.sort(otherFieldInfos);
+	if (hasNonSyntheticFieldChanges(this.fields, otherFieldInfos, true))
+		return null;
+
+	getMethods();
+	MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
+	if (this.methodsCount != 0)
+		Arrays.sort(this.methods);
+	if (otherMethodInfos != null && otherMethodInfos.length != 0)
+		Arrays.sort(otherMethodInfos);
+	if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos, true))
+		return null;
+
+	char[][] names = CharOperation.NO_CHAR_CHAR;
+	names = addPrivateFieldChanges(names, this.fields, otherFieldInfos);
+	names = addPrivateFieldChanges(names, otherFieldInfos, this.fields);
+	names = addPrivateMethodChanges(names, this.methods, otherMethodInfos);
+	if (names == null)
+		return null;
+	return addPrivateMethodChanges(names, otherMethodInfos, this.methods);
+}
+
+// adds the names of the private non synthetic fields which have no structurally equal field in the others
+private char[][] addPrivateFieldChanges(char[][] names, FieldInfo[] fieldInfos, FieldInfo[] otherFieldInfos) {
+	if (fieldInfos == null)
+		return names;
+	next : for (FieldInfo fieldInfo : fieldInfos) {
+		if ((fieldInfo.getModifiers() & ClassFileConstants.AccPrivate) == 0 || fieldInfo.isSynthetic())
+			continue next;
+		if (otherFieldInfos != null)
+			for (FieldInfo otherFieldInfo : otherFieldInfos)
+				if (CharOperation.equals(fieldInfo.getName(), otherFieldInfo.getName())
+						&& !hasStructuralFieldChanges(fieldInfo, otherFieldInfo))
+					continue next;
+		names = addName(names, fieldInfo.getName());
+	}
+	return names;
+}
+
+// adds the names of the private non synthetic methods which have no structurally equal method in the others,
+// answers null if one of them is a constructor
+private char[][] addPrivateMethodChanges(char[][] names, MethodInfo[] methodInfos, MethodInfo[] otherMethodInfos) {
+	if (methodInfos == null)
+		return names;
+	next : for (MethodInfo methodInfo : methodInfos) {
+		if ((methodInfo.getModifiers() & ClassFileConstants.AccPrivate) == 0 || methodInfo.isSynthetic() || methodInfo.isClinit())
+			continue next;
+		if (otherMethodInfos != null)
+			for (MethodInfo otherMethodInfo : otherMethodInfos)
+				if (CharOperation.equals(methodInfo.getSelector(), otherMethodInfo.getSelector())
+						&& !hasStructuralMethodChanges(methodInfo, otherMethodInfo))
+					continue next;
+		if (methodInfo.isConstructor())
+			return null; // a private constructor can change the way a nested class or an enum constant is created
+		names = addName(names, methodInfo.getSelector());
+	}
+	return names;
+}
+
+private static char[][] addName(char[][] names, char[] name) {
+	for (char[] existing : names)
+		if (CharOperation.equals(existing, name))
+			return names;
+	int length = names.length;
+	System.arraycopy(names, 0, names = new char[length + 1][], 0, length);
+	names[length] = name;
+	return names;
+}
+
+private boolean hasStructuralTypeChanges(ClassFileReader newClassFile) {
+	// modifiers
+	if (getModifiers() != newClassFile.getModifiers())
+		return true;
+
+	// only consider a portion of the tagbits which indicate a structural change for dependents
+	// e.g. @Override change has no influence outside
+	long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
+		| TagBits.AnnotationDeprecated // different @Deprecated status ?
+		| TagBits.AnnotationRetentionMASK // different @Retention status ?
+		| TagBits.HierarchyHasProblems; // different hierarchy status ?
+
+	// meta-annotations
+	if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
+		return true;
+	// annotations
+	if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
+		return true;
+	if (this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
+		return true;
+
+	// generic signature
+	if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
+		return true;
+	// superclass
+	if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
+		return true;
+	// interfaces
+	char[][] newInterfacesNames = newClassFile.getInterfaceNames();
+	if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
+		int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
+		if (newInterfacesLength != this.interfacesCount)
+			return true;
+		for (int i = 0, max = this.interfacesCount; i < max; i++)
+			if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
 				return true;
-		}
-		if (compareFields) {
-			if (this.fieldsCount != otherFieldInfosLength && !excludesSynthetic)
+	}
+
+	// permitted sub-types
+	char[][] newPermittedSubtypeNames = newClassFile.getPermittedSubtypeNames();
+	if (this.permittedSubtypesNames != newPermittedSubtypeNames) {
+		int newPermittedSubtypesLength = newPermittedSubtypeNames == null ? 0 : newPermittedSubtypeNames.length;
+		if (newPermittedSubtypesLength != this.permittedSubtypesCount)
+			return true;
+		for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
+			if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypeNames[i]))
 				return true;
-			if (orderRequired) {
-				if (this.fieldsCount != 0)
-					Arrays.sort(this.fields);
-				if (otherFieldInfosLength != 0)
-					Arrays.sort(otherFieldInfos);
-			}
-			if (excludesSynthetic) {
-				if (hasNonSyntheticFieldChanges(this.fields, otherFieldInfos))
+	}
+
+	// member types
+	IBinaryNestedType[] currentMemberTypes = getMemberTypes();
+	IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
+	if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
+		int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
+		int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
+		if (currentMemberTypeLength != otherMemberTypeLength)
+			return true;
+		for (int i = 0; i < currentMemberTypeLength; i++)
+			if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
+				|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
 					return true;
-			} else {
-				for (int i = 0; i < this.fieldsCount; i++)
-					if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i]))
-						return true;
-			}
-		}
+	}
 
-		// methods
-		MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
-		int otherMethodInfosLength = otherMethodInfos == null ? 0 : otherMethodInfos.length;
-		boolean compareMethods = true;
-		if (this.methodsCount == otherMethodInfosLength) {
-			int i = 0;
-			for (; i < this.methodsCount; i++)
-				if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i])) break;
-			if ((compareMethods = i != this.methodsCount) && !orderRequired && !excludesSynthetic)
-				return true;
+	// missing types
+	char[][][] missingTypes = getMissingTypeNames();
+	char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
+	if (missingTypes != null) {
+		if (newMissingTypes == null) {
+			return true;
 		}
-		if (compareMethods) {
-			if (this.methodsCount != otherMethodInfosLength && !excludesSynthetic)
-				return true;
-			if (orderRequired) {
-				if (this.methodsCount != 0)
-					Arrays.sort(this.methods);
-				if (otherMethodInfosLength != 0)
-					Arrays.sort(otherMethodInfos);
-			}
-			if (excludesSynthetic) {
-				if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos))
-					return true;
-			} else {
-				for (int i = 0; i < this.methodsCount; i++)
-					if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i]))
-						return true;
-			}
+		int length = missingTypes.length;
+		if (length != newMissingTypes.length) {
+			return true;
 		}
-
-		// missing types
-		char[][][] missingTypes = getMissingTypeNames();
-		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
-		if (missingTypes != null) {
-			if (newMissingTypes == null) {
-				return true;
-			}
-			int length = missingTypes.length;
-			if (length != newMissingTypes.length) {
+		for (int i = 0; i < length; i++) {
+			if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
 				return true;
 			}
-			for (int i = 0; i < length; i++) {
-				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
-					return true;
-				}
-			}
-		} else if (newMissingTypes != null) {
-			return true;
 		}
-		return false;
-	} catch (ClassFormatException e) {
+	} else if (newMissingTypes != null) {
 		return true;
 	}
+	return false;
 }
 
 private boolean hasStructuralAnnotationChanges(IBinaryAnnotation[] currentAnnotations, IBinaryAnnotation[] otherAnnotations) {
@@ -1424,8 +1608,10 @@ private boolean affectsSignature(IBinaryTypeAnnotation typeAnnotation) {
  * This method is used to fully initialize the contents of the receiver. All methodinfos, fields infos
  * will be therefore fully initialized and we can get rid of the bytes.
  */
-private void initialize() throws ClassFormatException {
+void initialize() throws ClassFormatException {
 	try {
+		getFields();
+		getMethods();
 		for (int i = 0, max = this.fieldsCount; i < max; i++) {
 			this.fields[i].initialize();
 		}
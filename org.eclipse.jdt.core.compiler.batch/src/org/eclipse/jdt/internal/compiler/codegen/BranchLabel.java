@@ -22,7 +22,8 @@ import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
 
 public class BranchLabel extends Label {
 
-	private int[] forwardReferences = new int[10]; // Add an overflow check here.
+	private static final int[] NO_FORWARD_REFERENCES = new int[0];
+	private int[] forwardReferences = NO_FORWARD_REFERENCES; // allocated on the first forward branch
 	private int forwardReferenceCount = 0;
 	BranchLabel delegate; //
 
@@ -60,9 +61,8 @@ void addForwardReference(int pos) {
 	if (count >= 1) {
 		int previousValue = this.forwardReferences[count - 1];
 		if (previousValue < pos) {
-			int length;
-			if (count >= (length = this.forwardReferences.length))
-				System.arraycopy(this.forwardReferences, 0, (this.forwardReferences = new int[2*length]), 0, length);
+			if (count >= this.forwardReferences.length)
+				growForwardReferences();
 			this.forwardReferences[this.forwardReferenceCount++] = pos;
 		} else if (previousValue > pos) {
 			int[] refs = this.forwardReferences;
@@ -70,20 +70,23 @@ void addForwardReference(int pos) {
 			for (int i = 0, max = this.forwardReferenceCount; i < max; i++) {
 				if (refs[i] == pos) return; // already recorded
 			}
-			int length;
-			if (count >= (length = refs.length))
-				System.arraycopy(refs, 0, (this.forwardReferences = new int[2*length]), 0, length);
+			if (count >= refs.length)
+				growForwardReferences();
 			this.forwardReferences[this.forwardReferenceCount++] = pos;
 			Arrays.sort(this.forwardReferences, 0, this.forwardReferenceCount);
 		}
 	} else {
-		int length;
-		if (count >= (length = this.forwardReferences.length))
-			System.arraycopy(this.forwardReferences, 0, (this.forwardReferences = new int[2*length]), 0, length);
+		if (count >= this.forwardReferences.length)
+			growForwardReferences();
 		this.forwardReferences[this.forwardReferenceCount++] = pos;
 	}
 }
 
+private void growForwardReferences() {
+	int length = this.forwardReferences.length;
+	System.arraycopy(this.forwardReferences, 0, (this.forwardReferences = new int[length == 0 ? 4 : 2*length]), 0, length);
+}
+
 /**
  * Makes the current label inline all references to the other label
  */
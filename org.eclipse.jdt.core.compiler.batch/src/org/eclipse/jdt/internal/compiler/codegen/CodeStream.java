@@ -289,7 +289,7 @@ public void addDefinitelyAssignedVariables(Scope scope, int initStateIndex) {
 
 public void addLabel(BranchLabel aLabel) {
 	if (this.countLabels == this.labels.length)
-		System.arraycopy(this.labels, 0, this.labels = new BranchLabel[this.countLabels + LABELS_INCREMENT], 0, this.countLabels);
+		System.arraycopy(this.labels, 0, this.labels = new BranchLabel[this.countLabels * 2 + LABELS_INCREMENT], 0, this.countLabels);
 	this.labels[this.countLabels++] = aLabel;
 }
 
@@ -6779,7 +6779,7 @@ public void record(LocalVariableBinding local) {
 		return;
 	if (this.allLocalsCounter == this.locals.length) {
 		// resize the collection
-		System.arraycopy(this.locals, 0, this.locals = new LocalVariableBinding[this.allLocalsCounter + LOCALS_INCREMENT], 0, this.allLocalsCounter);
+		System.arraycopy(this.locals, 0, this.locals = new LocalVariableBinding[this.allLocalsCounter * 2 + LOCALS_INCREMENT], 0, this.allLocalsCounter);
 	}
 	this.locals[this.allLocalsCounter++] = local;
 	local.initializationPCs = new int[4];
@@ -6935,7 +6935,7 @@ public void registerExceptionHandler(ExceptionLabel anExceptionLabel) {
 	int length;
 	if (this.exceptionLabelsCounter == (length = this.exceptionLabels.length)) {
 		// resize the exception handlers table
-		System.arraycopy(this.exceptionLabels, 0, this.exceptionLabels = new ExceptionLabel[length + LABELS_INCREMENT], 0, length);
+		System.arraycopy(this.exceptionLabels, 0, this.exceptionLabels = new ExceptionLabel[length * 2 + LABELS_INCREMENT], 0, length);
 	}
 	// no need to resize. So just add the new exception label
 	this.exceptionLabels[this.exceptionLabelsCounter++] = anExceptionLabel;
@@ -88,8 +88,12 @@ public class StackMapFrame {
 		}
 	}
 
+	/**
+	 * Answers a copy of the receiver. Only the uninitialized verification infos, which are updated in place once
+	 * their constructor is invoked, are copied: the other ones are shared, see {@link VerificationTypeInfo#merge(VerificationTypeInfo, Scope)}.
+	 */
 	public StackMapFrame duplicate() {
-		Map<VerificationTypeInfo, VerificationTypeInfo> cache = new HashMap<>();
+		Map<VerificationTypeInfo, VerificationTypeInfo> cache = null;
 		int length = this.locals.length;
 		StackMapFrame result = new StackMapFrame(length);
 		result.numberOfLocals = -1;
@@ -97,18 +101,19 @@ public class StackMapFrame {
 		result.pc = this.pc;
 		result.numberOfStackItems = this.numberOfStackItems;
 
-		if (length != 0) {
-			result.locals = new VerificationTypeInfo[length];
-			for (int i = 0; i < length; i++) {
-				final VerificationTypeInfo verificationTypeInfo = this.locals[i];
-				result.locals[i] = getCachedValue(cache, verificationTypeInfo);
-			}
+		for (int i = 0; i < length; i++) {
+			final VerificationTypeInfo verificationTypeInfo = this.locals[i];
+			if (cache == null && isUninitialized(verificationTypeInfo))
+				cache = new HashMap<>();
+			result.locals[i] = getCachedValue(cache, verificationTypeInfo);
 		}
 		length = this.numberOfStackItems;
 		if (length != 0) {
 			result.stackItems = new VerificationTypeInfo[length];
 			for (int i = 0; i < length; i++) {
 				final VerificationTypeInfo verificationTypeInfo = this.stackItems[i];
+				if (cache == null && isUninitialized(verificationTypeInfo))
+					cache = new HashMap<>();
 				result.stackItems[i] = getCachedValue(cache, verificationTypeInfo);
 			}
 		}
@@ -118,19 +123,25 @@ public class StackMapFrame {
 	private static VerificationTypeInfo getCachedValue(Map<VerificationTypeInfo, VerificationTypeInfo> cache, VerificationTypeInfo value) {
 		VerificationTypeInfo cachedValue = value;
 		if (value != null) {
-			if (value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED || value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED_THIS) {
+			if (isUninitialized(value)) {
 				// we use the cache only for uninitialized info
 				cachedValue = cache.get(value);
 				if (cachedValue == null) {
 					cachedValue = value.duplicate();
 					cache.put(value, cachedValue);
 				}
-			} else {
+			} else if (value.isMerged()) {
+				// the merged bindings are not carried over to the copy
 				cachedValue = value.duplicate();
 			}
 		}
 		return cachedValue;
 	}
+
+	private static boolean isUninitialized(VerificationTypeInfo value) {
+		return value != null && (value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED || value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED_THIS);
+	}
+
 	public int numberOfDifferentLocals(StackMapFrame prevFrame) {
 		if (this.numberOfDifferentLocals != -1)
 			return this.numberOfDifferentLocals;
@@ -380,6 +391,9 @@ public class StackMapFrame {
 	}
 
 	private static boolean equals(VerificationTypeInfo info, VerificationTypeInfo info2) {
+		if (info == info2) {
+			return true; // shared between frames
+		}
 		if (info == null) {
 			return info2 == null;
 		}
@@ -393,6 +407,13 @@ public class StackMapFrame {
 			// branching
 			return this;
 		}
+		return mergeStackItems(frame, scope);
+	}
+
+	/**
+	 * Merges the stack items of the given frame into the ones of the receiver, whatever the pc of the given frame.
+	 */
+	public StackMapFrame mergeStackItems(StackMapFrame frame, Scope scope) {
 		if (this.numberOfStackItems == frame.numberOfStackItems) {
 			for (int i = 0, max = this.numberOfStackItems; i < max; i++) {
 				this.stackItems[i] = this.stackItems[i].merge(frame.stackItems[i], scope);
@@ -221,30 +221,44 @@ public class VerificationTypeInfo {
 		this.id = this.binding.id;
 	}
 
+	/**
+	 * Answers whether the receiver results from the merge of several bindings.
+	 */
+	public boolean isMerged() {
+		return this.bindings != null;
+	}
+
+	/**
+	 * Answers the merge of the receiver with the given info. The receiver is left unchanged unless it
+	 * already results from a merge, as infos which do not are shared between stack map frames.
+	 */
 	public VerificationTypeInfo merge(VerificationTypeInfo verificationTypeInfo, Scope scope) {
 		if (this.binding.isBaseType() && verificationTypeInfo.binding.isBaseType()) {
 			return this;
 		}
 		if (!this.binding.equals(verificationTypeInfo.binding)) {
+			VerificationTypeInfo result = this;
 			if (this.bindings == null) {
-				this.bindings = new ArrayList<>();
-				this.bindings.add(this.binding);
+				result = duplicate();
+				result.bindings = new ArrayList<>();
+				result.bindings.add(this.binding);
 			}
-			this.bindings.add(verificationTypeInfo.binding);
-			this.binding = scope.lowerUpperBound(this.bindings.toArray(new TypeBinding[this.bindings.size()]));
-			if (this.binding != null) {
-				this.id = this.binding.id;
-				switch (this.id) {
+			result.bindings.add(verificationTypeInfo.binding);
+			result.binding = scope.lowerUpperBound(result.bindings.toArray(new TypeBinding[result.bindings.size()]));
+			if (result.binding != null) {
+				result.id = result.binding.id;
+				switch (result.id) {
 					case TypeIds.T_null:
-						this.tag = VerificationTypeInfo.ITEM_NULL;
+						result.tag = VerificationTypeInfo.ITEM_NULL;
 						break;
 					default:
-						this.tag = VerificationTypeInfo.ITEM_OBJECT;
+						result.tag = VerificationTypeInfo.ITEM_OBJECT;
 				}
 			} else {
-				this.binding = scope.getJavaLangObject();
-				this.tag = VerificationTypeInfo.ITEM_OBJECT;
+				result.binding = scope.getJavaLangObject();
+				result.tag = VerificationTypeInfo.ITEM_OBJECT;
 			}
+			return result;
 		}
 		return this;
 	}
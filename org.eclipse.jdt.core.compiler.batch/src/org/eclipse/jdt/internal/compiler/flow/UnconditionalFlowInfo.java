@@ -107,6 +107,9 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[DEFINN] is iDefNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private boolean extraShared;
+		// extra is shared with copies (or with the original) of this flow info,
+		// and must be unshared before any of its arrays is written, see copy()
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -265,6 +268,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 					}
 				} else {
 					// current storage is longer
+					unshareExtra();
 					mergeLimit = otherLength;
 					if (COVERAGE_TEST_FLAG) {
 						if (CoverageTestId == 4) {
@@ -444,6 +448,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 			}
 			else {
 				// current storage is longer
+				unshareExtra();
 				for (; i < otherLength; i++) {
 					this.extra[1][i] |= otherInits.extra[1][i];
 				}
@@ -549,6 +554,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 				}
 			}
 		} else {
+			unshareExtra();
 			mergeLimit = copyLimit;
 			if (mergeLimit > this.extra[0].length) {
 				mergeLimit = this.extra[0].length;
@@ -663,6 +669,7 @@ public void acceptIncomingNullnessFrom(UnconditionalFlowInfo other) {
 				long nb4 = ~other.extra[4+1][i];
 				long acceptNN = extraINN & b1 & nb2 & b3 & nb4;
 				if (acceptNN != 0) {
+					unshareExtra();
 					long nAcceptNN = ~acceptNN;
 					this.extra[1+1][i] |= acceptNN;
 					this.extra[2+1][i] &= nAcceptNN;
@@ -672,6 +679,7 @@ public void acceptIncomingNullnessFrom(UnconditionalFlowInfo other) {
 				// the same for IN
 				long acceptN = extraIN & b1 & b2 & nb3 & nb4;
 				if (acceptN != 0) {
+					unshareExtra();
 					long nAcceptN = ~acceptN;
 					this.extra[1+1][i] |= acceptN;
 					this.extra[2+1][i] |= acceptN;
@@ -794,6 +802,13 @@ public FlowInfo copy() {
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
+		if (hasNullInfo || !hasExtraNullBits()) {
+			// branches often leave most of their flow info untouched: share the
+			// extra storage until either side writes into it
+			copy.extra = this.extra;
+			copy.extraShared = this.extraShared = true;
+			return copy;
+		}
 		int length;
 		copy.extra = new long[extraLength][];
 		System.arraycopy(this.extra[0], 0,
@@ -820,6 +835,32 @@ public FlowInfo copy() {
 	return copy;
 }
 
+private boolean hasExtraNullBits() {
+	for (int j = 2; j < 6; j++) {
+		long[] bits = this.extra[j];
+		for (int i = 0; i < bits.length; i++) {
+			if (bits[i] != 0)
+				return true;
+		}
+	}
+	return false;
+}
+
+/**
+ * Give this flow info its own copy of the extra storage it shares with others,
+ * before writing into it.
+ */
+private void unshareExtra() {
+	if (this.extraShared) {
+		long[][] shared = this.extra;
+		this.extra = new long[extraLength][];
+		for (int j = 0; j < extraLength; j++) {
+			this.extra[j] = shared[j].clone();
+		}
+		this.extraShared = false;
+	}
+}
+
 /**
  * Discard definite inits and potential inits from this, then return this.
  * The returned flow info only holds null related information.
@@ -832,6 +873,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		unshareExtra();
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -866,6 +908,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = (limit / BitCacheSize) - 1) >= length) {
 		return this; // not enough room yet
 	}
+	unshareExtra();
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
@@ -1289,6 +1332,8 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 							throw new AssertionFailedException("COVERAGE 17"); //$NON-NLS-1$
 						}
 					}
+				} else {
+					unshareExtra();
 				}
 			}
 			// MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][vectorIndex]/gc
@@ -1383,6 +1428,8 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 							throw new AssertionFailedException("COVERAGE 21"); //$NON-NLS-1$
 						}
 					}
+				} else {
+					unshareExtra();
 				}
 			}
 			if ((mask & this.extra[1 + 1][vectorIndex]) != 0) {
@@ -1433,6 +1480,8 @@ final private void markAsDefinitelyAssigned(int position) {
 				int oldLength; // might need to grow the arrays
 				if (vectorIndex >= (oldLength = this.extra[0].length)) {
 					growSpace(vectorIndex + 1, 0, oldLength);
+				} else {
+					unshareExtra();
 				}
 			}
 			long mask;
@@ -1491,6 +1540,8 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     			int oldLength; // might need to grow the arrays
     			if (vectorIndex >= (oldLength = this.extra[0].length)) {
     				growSpace(vectorIndex + 1, 0, oldLength);
+    			} else {
+    				unshareExtra();
     			}
     		}
     		this.extra[2][vectorIndex]
@@ -1547,6 +1598,8 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     			int oldLength; // might need to grow the arrays
     			if (vectorIndex >= (oldLength = this.extra[0].length)) {
     				growSpace(vectorIndex + 1, 0, oldLength);
+    			} else {
+    				unshareExtra();
     			}
     		}
     		this.extra[2][vectorIndex]
@@ -1611,6 +1664,8 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 				int oldLength; // might need to grow the arrays
 				if (vectorIndex >= (oldLength = this.extra[0].length)) {
 					growSpace(vectorIndex+1, 0, oldLength);
+				} else {
+					unshareExtra();
 				}
 			}
 			this.extra[2][vectorIndex]
@@ -1656,6 +1711,7 @@ public void resetNullInfo(LocalVariableBinding local) {
     			// before and for which no null bits exist.
     			return;
     		}
+    		unshareExtra();
     		this.extra[2][vectorIndex]
     		    &= (mask = ~(1L << (position % BitCacheSize)));
     		this.extra[3][vectorIndex] &= mask;
@@ -1699,6 +1755,8 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
 				int oldLength; // might need to grow the arrays
 				if (vectorIndex >= (oldLength = this.extra[0].length)) {
     				growSpace(vectorIndex + 1, 0, oldLength);
+				} else {
+					unshareExtra();
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
@@ -1744,6 +1802,8 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
 				int oldLength; // might need to grow the arrays
 				if (vectorIndex >= (oldLength = this.extra[0].length)) {
     				growSpace(vectorIndex + 1, 0, oldLength);
+				} else {
+					unshareExtra();
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
@@ -1789,6 +1849,8 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 				int oldLength; // might need to grow the arrays
 				if (vectorIndex >= (oldLength = this.extra[0].length)) {
 					growSpace(vectorIndex + 1, 0, oldLength);
+				} else {
+					unshareExtra();
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
@@ -1948,6 +2010,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 				}
 				else {
 					// current storage is longer
+					unshareExtra();
 					mergeLimit = otherLength;
 					resetLimit = length;
 					if (COVERAGE_TEST_FLAG) {
@@ -1958,6 +2021,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 				}
 			}
 			else {
+				unshareExtra();
 				resetLimit = this.extra[0].length;
 				if (COVERAGE_TEST_FLAG) {
 					if(CoverageTestId == 35) {
@@ -2187,6 +2251,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				unshareExtra();
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2367,6 +2432,7 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 			}
 			else {
 				// current storage is longer
+				unshareExtra();
 				for (; i < otherLength; i++) {
 					this.extra[0][i] &= otherInits.extra[0][i];
 				}
@@ -2375,6 +2441,7 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 				}
 			}
 		} else {
+			unshareExtra();
 			for (int i = 0; i < this.extra[0].length; i++) {
 				this.extra[0][i] = 0;
 			}
@@ -2406,6 +2473,7 @@ public void resetAssignmentInfo(int position) {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
+			unshareExtra();
 			long mask;
 			this.extra[0][vectorIndex] &=
 				(mask = ~(1L << (position % BitCacheSize)));
@@ -2416,6 +2484,7 @@ public void resetAssignmentInfo(int position) {
 
 private void createExtraSpace(int length) {
 	this.extra = new long[extraLength][];
+	this.extraShared = false;
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
@@ -2428,6 +2497,11 @@ private void createExtraSpace(int length) {
 }
 
 public void growSpace(int newLength, int copyStart, int copyLength) {
+	if (this.extraShared) {
+		// all the shared arrays get replaced by grown copies below
+		this.extra = this.extra.clone();
+		this.extraShared = false;
+	}
 	for (int j = 0; j < extraLength; j++) {
 		System.arraycopy(this.extra[j], copyStart,
 			(this.extra[j] = new long[newLength]), copyStart,
@@ -2447,6 +2521,7 @@ public void acceptAllIncomingNullness() {
 	this.iDefNBit = -1L;
 	this.iDefNNBit = -1L;
 	if (this.extra != null) {
+		unshareExtra();
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
 		Arrays.fill(this.extra[DEFIN], -1L);
@@ -28,6 +28,128 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// hand-off of processed units to the main thread, see ProcessTaskManager
+	public long processingQueueFullWaits;
+	public long processingQueueEmptyWaits;
+
+	// read ahead of the source files, see ReadManager
+	public long readAheadHits;
+	public long readAheadStalls;
+	public long readAheadMisses;
+	public long readAheadStallTime;
+
+	// lookup environment and type system
+	public long binaryTypeCount; // binary types loaded
+	public long binaryTypeBytes; // size of their .class files
+	public long binaryTypeCacheHits; // class files answered by the BinaryTypeCache
+	public long binaryTypeCacheMisses; // class files loaded while the BinaryTypeCache was enabled
+	public long inferenceCount; // type inference (JLS 18) invocations
+	public long inferenceCacheHits; // invocations answered by the inference outcome of an identical invocation
+	public long inferenceCacheMisses; // invocations which could have been answered so, but had to be inferred
+	public long typeCount; // types registered in the type system
+	public long parameterizedTypeCount; // parameterized types created by the type system
+
+	// code generation, see ClassFilePool
+	public long classFileCount; // class files acquired for code generation
+	public long recycledClassFileCount; // class files recycled along with their code stream and constant pool
+	public long recycledClassFileBytes; // capacity of the recycled header and contents buffers
+
+	// problems reported in the accepted compilation results
+	public long problemCount;
+
+	/** Number of slowest compilation units recorded **/
+	public static final int SLOWEST_UNITS_COUNT = 10;
+	// slowest compilation units and their processing time, in descending order of time
+	public char[][] slowestUnitNames = new char[0][];
+	public long[] slowestUnitTimes = new long[0];
+
+/**
+ * Records the time spent processing a compilation unit (parse of the method bodies,
+ * resolve, analyze and generate), so as to keep track of the slowest ones.
+ * @param fileName the file name of the unit
+ * @param time the processing time in ms
+ */
+public void recordUnitTime(char[] fileName, long time) {
+	int length = this.slowestUnitTimes.length;
+	if (length == SLOWEST_UNITS_COUNT && time <= this.slowestUnitTimes[length - 1])
+		return;
+	int index = length;
+	while (index > 0 && this.slowestUnitTimes[index - 1] < time)
+		index--;
+	int newLength = Math.min(SLOWEST_UNITS_COUNT, length + 1);
+	char[][] names = new char[newLength][];
+	long[] times = new long[newLength];
+	System.arraycopy(this.slowestUnitNames, 0, names, 0, index);
+	System.arraycopy(this.slowestUnitTimes, 0, times, 0, index);
+	names[index] = fileName;
+	times[index] = time;
+	System.arraycopy(this.slowestUnitNames, index, names, index + 1, newLength - index - 1);
+	System.arraycopy(this.slowestUnitTimes, index, times, index + 1, newLength - index - 1);
+	this.slowestUnitNames = names;
+	this.slowestUnitTimes = times;
+}
+
+/**
+ * Returns all the statistics as a JSON object, meant to be consumed by build tooling.
+ * @return the JSON representation of these statistics
+ */
+public String toJSON() {
+	StringBuilder buffer = new StringBuilder();
+	buffer.append("{\n"); //$NON-NLS-1$
+	appendJSON(buffer, "overallTime", this.overallTime); //$NON-NLS-1$
+	appendJSON(buffer, "lineCount", this.lineCount); //$NON-NLS-1$
+	appendJSON(buffer, "parseTime", this.parseTime); //$NON-NLS-1$
+	appendJSON(buffer, "resolveTime", this.resolveTime); //$NON-NLS-1$
+	appendJSON(buffer, "analyzeTime", this.analyzeTime); //$NON-NLS-1$
+	appendJSON(buffer, "generateTime", this.generateTime); //$NON-NLS-1$
+	appendJSON(buffer, "processingQueueFullWaits", this.processingQueueFullWaits); //$NON-NLS-1$
+	appendJSON(buffer, "processingQueueEmptyWaits", this.processingQueueEmptyWaits); //$NON-NLS-1$
+	appendJSON(buffer, "readAheadHits", this.readAheadHits); //$NON-NLS-1$
+	appendJSON(buffer, "readAheadStalls", this.readAheadStalls); //$NON-NLS-1$
+	appendJSON(buffer, "readAheadMisses", this.readAheadMisses); //$NON-NLS-1$
+	appendJSON(buffer, "readAheadStallTime", this.readAheadStallTime); //$NON-NLS-1$
+	appendJSON(buffer, "binaryTypeCount", this.binaryTypeCount); //$NON-NLS-1$
+	appendJSON(buffer, "binaryTypeBytes", this.binaryTypeBytes); //$NON-NLS-1$
+	appendJSON(buffer, "binaryTypeCacheHits", this.binaryTypeCacheHits); //$NON-NLS-1$
+	appendJSON(buffer, "binaryTypeCacheMisses", this.binaryTypeCacheMisses); //$NON-NLS-1$
+	appendJSON(buffer, "inferenceCount", this.inferenceCount); //$NON-NLS-1$
+	appendJSON(buffer, "inferenceCacheHits", this.inferenceCacheHits); //$NON-NLS-1$
+	appendJSON(buffer, "inferenceCacheMisses", this.inferenceCacheMisses); //$NON-NLS-1$
+	appendJSON(buffer, "typeCount", this.typeCount); //$NON-NLS-1$
+	appendJSON(buffer, "parameterizedTypeCount", this.parameterizedTypeCount); //$NON-NLS-1$
+	appendJSON(buffer, "classFileCount", this.classFileCount); //$NON-NLS-1$
+	appendJSON(buffer, "recycledClassFileCount", this.recycledClassFileCount); //$NON-NLS-1$
+	appendJSON(buffer, "recycledClassFileBytes", this.recycledClassFileBytes); //$NON-NLS-1$
+	appendJSON(buffer, "problemCount", this.problemCount); //$NON-NLS-1$
+	buffer.append("  \"slowestUnits\": ["); //$NON-NLS-1$
+	for (int i = 0; i < this.slowestUnitTimes.length; i++) {
+		buffer.append(i == 0 ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("    { \"file\": \""); //$NON-NLS-1$
+		for (char c : this.slowestUnitNames[i]) {
+			switch (c) {
+				case '"':
+				case '\\':
+					buffer.append('\\').append(c);
+					break;
+				default:
+					if (c < 0x20) {
+						buffer.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					} else {
+						buffer.append(c);
+					}
+			}
+		}
+		buffer.append("\", \"time\": ").append(this.slowestUnitTimes[i]).append(" }"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	buffer.append(this.slowestUnitTimes.length == 0 ? "]\n" : "\n  ]\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append("}\n"); //$NON-NLS-1$
+	return buffer.toString();
+}
+
+private static void appendJSON(StringBuilder buffer, String name, long value) {
+	buffer.append("  \"").append(name).append("\": ").append(value).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
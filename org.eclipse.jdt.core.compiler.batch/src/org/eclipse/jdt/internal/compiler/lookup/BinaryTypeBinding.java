@@ -1462,6 +1462,7 @@ public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes
 	if (!isPrototype())
 		return this.prototype.getExactMethod(selector, argumentTypes, refScope);
 
+	this.environment.recordMemberReference(selector);
 	// lazily sort methods
 	if ((this.tagBits & TagBits.AreMethodsSorted) == 0) {
 		int length = this.methods.length;
@@ -1511,6 +1512,7 @@ public FieldBinding getField(char[] fieldName, boolean needResolve) {
 	if (!isPrototype())
 		return this.prototype.getField(fieldName, needResolve);
 
+	this.environment.recordMemberReference(fieldName);
 	// lazily sort fields
 	if ((this.tagBits & TagBits.AreFieldsSorted) == 0) {
 		int length = this.fields.length;
@@ -1592,6 +1594,7 @@ public MethodBinding[] getMethods(char[] selector) {
 	if (!isPrototype())
 		return this.prototype.getMethods(selector);
 
+	this.environment.recordMemberReference(selector);
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0) {
 		long range;
 		if ((range = ReferenceBinding.binarySearch(selector, this.methods)) >= 0) {
@@ -1633,6 +1636,7 @@ public MethodBinding[] getMethods(char[] selector, int suggestedParameterLength)
 	if (!isPrototype())
 		return this.prototype.getMethods(selector, suggestedParameterLength);
 
+	this.environment.recordMemberReference(selector);
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0)
 		return getMethods(selector);
 	// lazily sort methods
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -57,18 +58,69 @@ class BoundSet {
 	static final BoundSet TRUE = new BoundSet();	// empty set of bounds
 	static final BoundSet FALSE = new BoundSet();	// pseudo bounds
 
+	/**
+	 * Insertion ordered set of type bounds, stored in an array.
+	 * Small sets are searched linearly, larger ones are additionally indexed by a hash set.
+	 */
+	private static final class TypeBoundList {
+		private static final int INDEX_THRESHOLD = 16;
+		TypeBound[] bounds;
+		int size;
+		private Set<TypeBound> index;
+		boolean shared; // by several ThreeSets, must not be modified anymore
+		TypeBoundList() {
+			this.bounds = new TypeBound[4];
+		}
+		TypeBoundList(TypeBoundList original) {
+			this.bounds = Arrays.copyOf(original.bounds, original.size > 0 ? original.size : 1);
+			this.size = original.size;
+			if (original.index != null)
+				this.index = new HashSet<>(original.index);
+		}
+		/** Add the given bound unless an equal bound is already contained. */
+		boolean add(TypeBound bound) {
+			if (this.index != null) {
+				if (!this.index.add(bound))
+					return false;
+			} else {
+				for (int i = 0; i < this.size; i++) {
+					if (bound.equals(this.bounds[i]))
+						return false;
+				}
+				if (this.size == INDEX_THRESHOLD) {
+					this.index = new HashSet<>(Arrays.asList(this.bounds).subList(0, this.size));
+					this.index.add(bound);
+				}
+			}
+			if (this.size == this.bounds.length)
+				System.arraycopy(this.bounds, 0, this.bounds = new TypeBound[this.size * 2], 0, this.size);
+			this.bounds[this.size++] = bound;
+			return true;
+		}
+		int copyInto(TypeBound[] collected, int idx) {
+			System.arraycopy(this.bounds, 0, collected, idx, this.size);
+			return idx + this.size;
+		}
+	}
+
 	/**
 	 * For a given inference variable this structure holds all type bounds
 	 * with a relation in { SUPERTYPE, SAME, SUBTYPE }.
 	 * These are internally stored in three sets, one for each of the relations.
+	 * <p>
+	 * After {@link BoundSet#copy()} an instance is shared by the original and the copy,
+	 * each of them replaces it with its own copy before adding a bound.
+	 * </p>
 	 */
 	private static class ThreeSets {
-		Set<TypeBound> superBounds;
-		Set<TypeBound> sameBounds;
-		Set<TypeBound> subBounds;
+		TypeBoundList superBounds;
+		TypeBoundList sameBounds;
+		TypeBoundList subBounds;
 		TypeBinding	instantiation;
 		Map<InferenceVariable,TypeBound> inverseBounds; // from right inference variable to bound
 		Set<InferenceVariable> dependencies;
+		boolean dependenciesShared; // with the ThreeSets this one was copied from
+		boolean shared; // by several bound sets, must not be modified anymore
 		public ThreeSets() {
 			// empty, the sets are lazily initialized
 		}
@@ -77,6 +129,10 @@ class BoundSet {
 			boolean result = addBound1(bound);
 			if(result) {
 				Set<InferenceVariable> set = (this.dependencies == null ? new LinkedHashSet<>() : this.dependencies);
+				if (this.dependenciesShared && set == this.dependencies) {
+					set = this.dependencies = new LinkedHashSet<>(this.dependencies);
+					this.dependenciesShared = false;
+				}
 				bound.right.collectInferenceVariables(set);
 				if (this.dependencies == null && set.size() > 0) {
 					this.dependencies = set;
@@ -87,24 +143,27 @@ class BoundSet {
 		private boolean addBound1(TypeBound bound) {
 			switch (bound.relation) {
 				case ReductionResult.SUPERTYPE:
-					if (this.superBounds == null) this.superBounds = new LinkedHashSet<>();
-					return this.superBounds.add(bound);
+					return (this.superBounds = writable(this.superBounds)).add(bound);
 				case ReductionResult.SAME:
-					if (this.sameBounds == null) this.sameBounds = new LinkedHashSet<>();
-					return this.sameBounds.add(bound);
+					return (this.sameBounds = writable(this.sameBounds)).add(bound);
 				case ReductionResult.SUBTYPE:
-					if (this.subBounds == null) this.subBounds = new LinkedHashSet<>();
-					return this.subBounds.add(bound);
+					return (this.subBounds = writable(this.subBounds)).add(bound);
 				default:
 					throw new IllegalArgumentException("Unexpected bound relation in : " + bound); //$NON-NLS-1$
 			}
 		}
+		private static TypeBoundList writable(TypeBoundList bounds) {
+			if (bounds == null)
+				return new TypeBoundList();
+			return bounds.shared ? new TypeBoundList(bounds) : bounds;
+		}
 		// pre: this.superBounds != null
 		public TypeBinding[] lowerBounds(boolean onlyProper, InferenceVariable variable) {
-			TypeBinding[] boundTypes = new TypeBinding[this.superBounds.size()];
+			TypeBinding[] boundTypes = new TypeBinding[this.superBounds.size];
 			long nullHints = variable.nullHints;
 			int i = 0;
-			for (TypeBound current : this.superBounds) {
+			for (int j = 0; j < this.superBounds.size; j++) {
+				TypeBound current = this.superBounds.bounds[j];
 				TypeBinding boundType = current.right;
 				if (!onlyProper || boundType.isProperType(true)) {
 					boundTypes[i++] = boundType;
@@ -121,13 +180,12 @@ class BoundSet {
 		}
 		// pre: this.subBounds != null
 		public TypeBinding[] upperBounds(boolean onlyProper, InferenceVariable variable) {
-			TypeBinding[] rights = new TypeBinding[this.subBounds.size()];
+			TypeBinding[] rights = new TypeBinding[this.subBounds.size];
 			TypeBinding simpleUpper = null;
-			Iterator<TypeBound> it = this.subBounds.iterator();
 			long nullHints = variable.nullHints;
 			int i = 0;
-			while(it.hasNext()) {
-				TypeBinding right=it.next().right;
+			for (int j = 0; j < this.subBounds.size; j++) {
+				TypeBinding right = this.subBounds.bounds[j].right;
 				if (!onlyProper || right.isProperType(true)) {
 					if (right instanceof ReferenceBinding) {
 						rights[i++] = right;
@@ -165,43 +223,37 @@ class BoundSet {
 		public int size() {
 			int size = 0;
 			if (this.superBounds != null)
-				size += this.superBounds.size();
+				size += this.superBounds.size;
 			if (this.sameBounds != null)
-				size += this.sameBounds.size();
+				size += this.sameBounds.size;
 			if (this.subBounds != null)
-				size += this.subBounds.size();
+				size += this.subBounds.size;
 			return size;
 		}
 		public int flattenInto(TypeBound[] collected, int idx) {
-			if (this.superBounds != null) {
-				int len = this.superBounds.size();
-				System.arraycopy(this.superBounds.toArray(), 0, collected, idx, len);
-				idx += len;
-			}
-			if (this.sameBounds != null) {
-				int len = this.sameBounds.size();
-				System.arraycopy(this.sameBounds.toArray(), 0, collected, idx, len);
-				idx += len;
-			}
-			if (this.subBounds != null) {
-				int len = this.subBounds.size();
-				System.arraycopy(this.subBounds.toArray(), 0, collected, idx, len);
-				idx += len;
-			}
+			if (this.superBounds != null)
+				idx = this.superBounds.copyInto(collected, idx);
+			if (this.sameBounds != null)
+				idx = this.sameBounds.copyInto(collected, idx);
+			if (this.subBounds != null)
+				idx = this.subBounds.copyInto(collected, idx);
 			return idx;
 		}
+		// pre: this.shared, i.e. the sets of bounds and the dependencies are not modified anymore, but copied on write
 		public ThreeSets copy() {
 			ThreeSets copy = new ThreeSets();
-			if (this.superBounds != null)
-				copy.superBounds = new LinkedHashSet<>(this.superBounds);
-			if (this.sameBounds != null)
-				copy.sameBounds = new LinkedHashSet<>(this.sameBounds);
-			if (this.subBounds != null)
-				copy.subBounds = new LinkedHashSet<>(this.subBounds);
+			if ((copy.superBounds = this.superBounds) != null)
+				this.superBounds.shared = true;
+			if ((copy.sameBounds = this.sameBounds) != null)
+				this.sameBounds.shared = true;
+			if ((copy.subBounds = this.subBounds) != null)
+				this.subBounds.shared = true;
 			copy.instantiation = this.instantiation;
-			if (this.dependencies != null) {
-				copy.dependencies = new LinkedHashSet<>(this.dependencies);
+			if (this.inverseBounds != null) {
+				copy.inverseBounds = new HashMap<>(this.inverseBounds);
 			}
+			copy.dependencies = this.dependencies;
+			copy.dependenciesShared = this.dependencies != null;
 			return copy;
 		}
 		public TypeBinding findSingleWrapperType() {
@@ -221,9 +273,8 @@ class BoundSet {
 				}
 			}
 			if (this.subBounds != null) {
-				Iterator<TypeBound> it = this.subBounds.iterator();
-				while(it.hasNext()) {
-					TypeBinding boundType = it.next().right;
+				for (int i = 0; i < this.subBounds.size; i++) {
+					TypeBinding boundType = this.subBounds.bounds[i].right;
 					if ((boundType).isProperType(true)) {
 						switch (boundType.id) {
 							case TypeIds.T_JavaLangByte:
@@ -240,9 +291,8 @@ class BoundSet {
 				}
 			}
 			if (this.superBounds != null) {
-				Iterator<TypeBound> it = this.superBounds.iterator();
-				while(it.hasNext()) {
-					TypeBinding boundType = it.next().right;
+				for (int i = 0; i < this.superBounds.size; i++) {
+					TypeBinding boundType = this.superBounds.bounds[i].right;
 					if ((boundType).isProperType(true)) {
 						switch (boundType.id) {
 							case TypeIds.T_JavaLangByte:
@@ -285,16 +335,16 @@ class BoundSet {
 			// TODO(optimization): may want to collect all nullHints in the ThreeSets, which, however,
 			// needs a reference TypeBound->ThreeSets to propagate the bits as they are added.
 			if (this.sameBounds != null) {
-				for (TypeBound bound : this.sameBounds)
-					nullHints |= bound.nullHints;
+				for (int i = 0; i < this.sameBounds.size; i++)
+					nullHints |= this.sameBounds.bounds[i].nullHints;
 			}
 			if (this.superBounds != null) {
-				for (TypeBound bound : this.superBounds)
-					nullHints |= bound.nullHints;
+				for (int i = 0; i < this.superBounds.size; i++)
+					nullHints |= this.superBounds.bounds[i].nullHints;
 			}
 			if (this.subBounds != null) {
-				for (TypeBound bound : this.subBounds)
-					nullHints |= bound.nullHints;
+				for (int i = 0; i < this.subBounds.size; i++)
+					nullHints |= this.subBounds.bounds[i].nullHints;
 			}
 			if (nullHints == TagBits.AnnotationNullMASK) // on contradiction remove null type annotations
 				return type.withoutToplevelNullAnnotation();
@@ -341,6 +391,10 @@ class BoundSet {
 	private int unincorporatedBoundsCount = 0;
 	private final TypeBound[] mostRecentBounds = new TypeBound[4]; // for quick & dirty duplicate elimination
 
+	// proper types of the inference variables in the two generations of bounds being incorporated, see properTypesByInferenceVariable()
+	private TypeBound[] properTypesFirstBounds, properTypesNextBounds;
+	private Map<InferenceVariable,TypeBound> properTypeCache;
+
 	public BoundSet() {}
 
 	// pre: typeParameters != null, variables[i].typeParameter == typeParameters[i]
@@ -375,19 +429,19 @@ class BoundSet {
 
 	/**
 	 * For resolution we work with a copy of the bound set, to enable retrying.
+	 * The bounds of each inference variable are shared until either bound set adds to them.
 	 * @return the new bound set.
 	 */
 	public BoundSet copy() {
 		BoundSet copy = new BoundSet();
 		if (!this.boundsPerVariable.isEmpty()) {
-			for (Entry<InferenceVariable, ThreeSets> entry : this.boundsPerVariable.entrySet()) {
-				copy.boundsPerVariable.put(entry.getKey(), entry.getValue().copy());
-			}
+			for (ThreeSets three : this.boundsPerVariable.values())
+				three.shared = true;
+			copy.boundsPerVariable.putAll(this.boundsPerVariable);
 		}
 		copy.inThrows.addAll(this.inThrows);
 		copy.captures.putAll(this.captures);
-		if (this.incorporatedBounds.length > 0)
-			System.arraycopy(this.incorporatedBounds, 0, copy.incorporatedBounds = new TypeBound[this.incorporatedBounds.length], 0, this.incorporatedBounds.length);
+		copy.incorporatedBounds = this.incorporatedBounds; // never modified, only replaced
 		if (this.unincorporatedBoundsCount > 0)
 			System.arraycopy(this.unincorporatedBounds, 0, copy.unincorporatedBounds = new TypeBound[this.unincorporatedBounds.length], 0, this.unincorporatedBounds.length);
 		copy.unincorporatedBoundsCount = this.unincorporatedBoundsCount;
@@ -426,9 +480,7 @@ class BoundSet {
 		this.mostRecentBounds[0] = bound;
 
 		InferenceVariable variable = bound.left.prototype();
-		ThreeSets three = this.boundsPerVariable.get(variable);
-		if (three == null)
-			this.boundsPerVariable.put(variable, (three = new ThreeSets()));
+		ThreeSets three = writableBounds(variable);
 		if (three.addBound(bound)) {
 			int unincorporatedBoundsLength = this.unincorporatedBounds.length;
 			if (this.unincorporatedBoundsCount >= unincorporatedBoundsLength)
@@ -443,9 +495,7 @@ class BoundSet {
 				// this should be needed to determine IV dependencies independent of direction.
 				// TODO: so far no test could be identified which actually needs it ...
 				InferenceVariable rightIV = (InferenceVariable) bound.right.prototype();
-				three = this.boundsPerVariable.get(rightIV);
-				if (three == null)
-					this.boundsPerVariable.put(rightIV, (three = new ThreeSets()));
+				three = writableBounds(rightIV);
 				if (three.inverseBounds == null)
 					three.inverseBounds = new HashMap<>();
 				three.inverseBounds.put(rightIV, bound);
@@ -453,6 +503,16 @@ class BoundSet {
 		}
 	}
 
+	// answers the bounds of the given variable, which are not shared with any other bound set
+	private ThreeSets writableBounds(InferenceVariable variable) {
+		ThreeSets three = this.boundsPerVariable.get(variable);
+		if (three == null)
+			this.boundsPerVariable.put(variable, (three = new ThreeSets()));
+		else if (three.shared)
+			this.boundsPerVariable.put(variable, (three = three.copy()));
+		return three;
+	}
+
 	private boolean addBounds(TypeBound[] newBounds, LookupEnvironment environment) {
 		boolean hasProperBound = false;
 		for (TypeBound newBound : newBounds) {
@@ -524,6 +584,8 @@ class BoundSet {
 
 			} while (this.unincorporatedBoundsCount > 0);
 		} finally {
+			this.properTypeCache = null;
+			this.properTypesFirstBounds = this.properTypesNextBounds = null;
 			if (InferenceContext18.DEBUG) {
 				System.out.println("Incorporated:\n"+this); //$NON-NLS-1$
 			}
@@ -666,12 +728,11 @@ class BoundSet {
 					TypeBinding t = wildcardBinding.bound;
 					ThreeSets three = this.boundsPerVariable.get(alpha.prototype());
 					if (three != null) {
-						Iterator<TypeBound> it;
 						if (three.sameBounds != null) {
 							//  α = R implies false
-							it = three.sameBounds.iterator();
-							while (it.hasNext()) {
-								TypeBound bound = it.next();
+							TypeBoundList sameBounds = three.sameBounds;
+							for (int j = 0, count = sameBounds.size; j < count; j++) {
+								TypeBound bound = sameBounds.bounds[j];
 								if (!(bound.right instanceof InferenceVariable))
 									return false;
 							}
@@ -683,9 +744,9 @@ class BoundSet {
 							}
 							// If Bi is Object, α <: R implies ⟨T <: R⟩	(extends wildcard)
 							// α <: R implies ⟨θ Bi <: R⟩				(else)
-							it = three.subBounds.iterator();
-							while (it.hasNext()) {
-								TypeBound bound = it.next();
+							TypeBoundList subBounds = three.subBounds;
+							for (int j = 0, count = subBounds.size; j < count; j++) {
+								TypeBound bound = subBounds.bounds[j];
 								if (!(bound.right instanceof InferenceVariable)) {
 									TypeBinding r = bound.right;
 									ReferenceBinding[] otherBounds = pi.superInterfaces;
@@ -703,12 +764,13 @@ class BoundSet {
 								}
 							}
 						}
+						three = this.boundsPerVariable.get(alpha.prototype()); // adding bounds above may have replaced a shared instance
 						if (three.superBounds != null) {
 							//  R <: α implies ⟨R <: T⟩  (super wildcard)
 							//  R <: α implies false	 (else)
-							it = three.superBounds.iterator();
-							while (it.hasNext()) {
-								TypeBound bound = it.next();
+							TypeBoundList superBounds = three.superBounds;
+							for (int j = 0, count = superBounds.size; j < count; j++) {
+								TypeBound bound = superBounds.bounds[j];
 								if (!(bound.right instanceof InferenceVariable)) {
 									if (wildcardBinding.boundKind == Wildcard.SUPER)
 										reduceOneConstraint(context, ConstraintTypeFormula.create(bound.right, t, ReductionResult.SUBTYPE));
@@ -903,7 +965,17 @@ class BoundSet {
 		return null;
 	}
 
+	// the map only depends on the given generations, thus it is computed once for all pairs of bounds of these generations
 	private Map<InferenceVariable,TypeBound> properTypesByInferenceVariable(TypeBound[] firstBounds, TypeBound[] nextBounds) {
+		if (this.properTypeCache == null || this.properTypesFirstBounds != firstBounds || this.properTypesNextBounds != nextBounds) {
+			this.properTypeCache = computeProperTypesByInferenceVariable(firstBounds, nextBounds);
+			this.properTypesFirstBounds = firstBounds;
+			this.properTypesNextBounds = nextBounds;
+		}
+		return this.properTypeCache;
+	}
+
+	private Map<InferenceVariable,TypeBound> computeProperTypesByInferenceVariable(TypeBound[] firstBounds, TypeBound[] nextBounds) {
 		return getBoundsStream(firstBounds, nextBounds)
 				.filter(bound -> bound.relation == ReductionResult.SAME)
 				.filter(bound -> bound.right.isProperType(true))
@@ -1201,26 +1273,26 @@ class BoundSet {
 		if (ts == null)
 			return false;
 		if (ts.sameBounds != null) {
-			for (TypeBound bound : ts.sameBounds) {
-				if (InferenceContext18.parameterizedWithWildcard(bound.right) != null)
+			for (int i = 0; i < ts.sameBounds.size; i++) {
+				if (InferenceContext18.parameterizedWithWildcard(ts.sameBounds.bounds[i].right) != null)
 					return true;
 			}
 		}
 		if (ts.superBounds != null) {
-			for (TypeBound bound : ts.superBounds) {
-				if (InferenceContext18.parameterizedWithWildcard(bound.right) != null)
+			for (int i = 0; i < ts.superBounds.size; i++) {
+				if (InferenceContext18.parameterizedWithWildcard(ts.superBounds.bounds[i].right) != null)
 					return true;
 			}
 		}
 		// ii) B2 contains two bounds of the forms S1 <: α and S2 <: α, where
 		//     S1 and S2 have supertypes (4.10) that are two different parameterizations of the same generic class or interface.
 		if (ts.superBounds != null) {
-			ArrayList<TypeBound> superBounds = new ArrayList<>(ts.superBounds);
-			int len = superBounds.size();
+			TypeBound[] superBounds = ts.superBounds.bounds;
+			int len = ts.superBounds.size;
 			for (int i=0; i<len; i++) {
-				TypeBinding s1 = superBounds.get(i).right;
+				TypeBinding s1 = superBounds[i].right;
 				for (int j=i+1; j<len; j++) {
-					TypeBinding s2 = superBounds.get(j).right;
+					TypeBinding s2 = superBounds[j].right;
 					List<Pair<TypeBinding>> pairs = allSuperPairsWithCommonGenericType(s1, s2);
 					for (Pair<TypeBinding> pair : pairs) {
 						/* HashMap<K#8,V#9> and HashMap<K#8,ArrayList<T>> with an instantiation for V9 = ArrayList<T> already in the
@@ -1246,20 +1318,15 @@ class BoundSet {
 		ThreeSets ts = this.boundsPerVariable.get(alpha.prototype());
 		if (ts == null)
 			return false;
-		Iterator<TypeBound> boundIterator;
 		if (ts.sameBounds != null) {
-			boundIterator = ts.sameBounds.iterator();
-			while (boundIterator.hasNext()) {
-				TypeBound b = boundIterator.next();
-				if (superOnlyRaw(g, b.right, ctx18.environment))
+			for (int i = 0; i < ts.sameBounds.size; i++) {
+				if (superOnlyRaw(g, ts.sameBounds.bounds[i].right, ctx18.environment))
 					return true;
 			}
 		}
 		if (ts.superBounds != null) {
-			boundIterator = ts.superBounds.iterator();
-			while (boundIterator.hasNext()) {
-				TypeBound b = boundIterator.next();
-				if (superOnlyRaw(g, b.right, ctx18.environment))
+			for (int i = 0; i < ts.superBounds.size; i++) {
+				if (superOnlyRaw(g, ts.superBounds.bounds[i].right, ctx18.environment))
 					return true;
 			}
 		}
@@ -1298,17 +1365,17 @@ class BoundSet {
 	public TypeBinding getEquivalentOuterVariable(InferenceVariable variable, InferenceVariable[] outerVariables) {
 		ThreeSets three = this.boundsPerVariable.get(variable);
 		if (three != null) {
-			for (TypeBound bound : three.sameBounds) {
+			for (int i = 0; i < three.sameBounds.size; i++) {
 				for (InferenceVariable iv : outerVariables)
-					if (TypeBinding.equalsEquals(bound.right, iv))
+					if (TypeBinding.equalsEquals(three.sameBounds.bounds[i].right, iv))
 						return iv;
 			}
 		}
 		for (InferenceVariable iv : outerVariables) {
 			three = this.boundsPerVariable.get(iv);
 			if (three != null && three.sameBounds != null) {
-				for (TypeBound bound : three.sameBounds)
-					if (TypeBinding.equalsEquals(bound.right, variable))
+				for (int i = 0; i < three.sameBounds.size; i++)
+					if (TypeBinding.equalsEquals(three.sameBounds.bounds[i].right, variable))
 						return iv;
 			}
 		}
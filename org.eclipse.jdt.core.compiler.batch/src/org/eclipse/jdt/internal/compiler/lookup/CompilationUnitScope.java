@@ -52,6 +52,7 @@ public class CompilationUnitScope extends Scope {
 	private SortedCompoundNameVector qualifiedReferences;
 	private SortedSimpleNameVector simpleNameReferences;
 	private SortedSimpleNameVector rootReferences;
+	private SortedSimpleNameVector memberReferences;
 	private LinkedHashSet<ReferenceBindingSetWrapper> referencedTypes;
 	private Set<ReferenceBindingSetWrapper> referencedSuperTypesSet;
 	private ObjectVector referencedSuperTypes;
@@ -88,6 +89,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = new SortedCompoundNameVector();
 		this.simpleNameReferences = new SortedSimpleNameVector();
 		this.rootReferences = new SortedSimpleNameVector();
+		this.memberReferences = new SortedSimpleNameVector();
 		this.referencedTypes = new LinkedHashSet<>();
 		this.referencedSuperTypesSet = new HashSet<>();
 		this.referencedSuperTypes = new ObjectVector();
@@ -95,6 +97,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = null; // used to test if dependencies should be recorded
 		this.simpleNameReferences = null;
 		this.rootReferences = null;
+		this.memberReferences = null;
 		this.referencedTypes = null;
 		this.referencedSuperTypesSet = null;
 		this.referencedSuperTypes = null;
@@ -709,6 +712,7 @@ private Binding findSingleStaticImport(char[][] compoundName, int mask) {
 
 	// look to see if its a static field first
 	ReferenceBinding type = (ReferenceBinding) binding;
+	recordMemberReference(name);
 	FieldBinding field = (mask & Binding.FIELD) != 0 ? findField(type, name, null, true) : null;
 	if (field != null) {
 		if (field.problemId() == ProblemReasons.Ambiguous && ((ProblemFieldBinding) field).closestMatch.isStatic())
@@ -906,6 +910,15 @@ void recordReference(ReferenceBinding type, char[] simpleName) {
 	if (actualType != null)
 		recordReference(actualType.compoundName, simpleName);
 }
+/*
+ * Records the name of a field or method looked up by this unit, whether it is found or not, so that the builder
+ * can tell whether a change of the members of a type with that name may affect this unit.
+ */
+void recordMemberReference(char[] memberName) {
+	if (this.memberReferences == null) return; // not recording dependencies
+
+	this.memberReferences.add(memberName);
+}
 void recordRootReference(char[] simpleName) {
 	if (this.rootReferences == null) return; // not recording dependencies
 
@@ -1012,6 +1025,12 @@ public void storeDependencyInfo() {
 	for (int i = 0; i < size; i++)
 		rootRefs[i] = this.rootReferences.elementAt(i);
 	this.referenceContext.compilationResult.rootReferences = rootRefs;
+
+	size = this.memberReferences.size;
+	char[][] memberRefs = new char[size][];
+	for (int i = 0; i < size; i++)
+		memberRefs[i] = this.memberReferences.elementAt(i);
+	this.referenceContext.compilationResult.memberReferences = memberRefs;
 }
 @Override
 public String toString() {
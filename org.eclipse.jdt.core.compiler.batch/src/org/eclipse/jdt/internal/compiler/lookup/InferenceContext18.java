@@ -1044,7 +1044,7 @@ public class InferenceContext18 {
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
 	private /*@Nullable*/ BoundSet solve(boolean inferringApplicability, boolean isRecordPatternTypeInference) throws InferenceFailureException {
-
+		this.environment.root.inferenceCount++;
 		if (!reduce())
 			return null;
 		if (!this.currentBounds.incorporate(this))
@@ -1075,6 +1075,7 @@ public class InferenceContext18 {
 	}
 
 	public /*@Nullable*/ BoundSet solve(InferenceVariable[] toResolve, boolean isRecordPatternTypeInference) throws InferenceFailureException {
+		this.environment.root.inferenceCount++;
 		if (!reduce())
 			return null;
 		if (!this.currentBounds.incorporate(this))
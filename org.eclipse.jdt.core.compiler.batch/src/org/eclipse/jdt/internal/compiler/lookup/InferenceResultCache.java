@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.ExpressionContext;
+import org.eclipse.jdt.internal.compiler.ast.MessageSend;
+
+/**
+ * Outcomes of the type inference (JLS 18.5.1 and 18.5.2) of the invocations of generic methods, so that
+ * structurally identical invocations (fluent code, assertions, builders...) are not inferred again and again.
+ * <p>
+ * Only the invocations which do not depend on their context are recorded: method invocations in a vanilla
+ * context (statement expressions, receivers of other invocations), which are neither inferred within an outer
+ * inference nor targeted, whose arguments are standalone expressions of proper types. The outcome of such an
+ * invocation only depends on the invoked method and on the types of its arguments. Outcomes mentioning
+ * capture bindings, unchecked conversions or missing types are not recorded.
+ * </p>
+ * <p>
+ * The cache of the root {@link LookupEnvironment} is cleared when the environment is reset. It can be disabled
+ * through the <code>jdt.compiler.inferenceCache</code> system property set to <code>false</code>.
+ * </p>
+ */
+final class InferenceResultCache {
+
+	static final boolean ENABLED = !"false".equals(System.getProperty("jdt.compiler.inferenceCache")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/** Solutions of the type variables of a method, and the inference kind they were found with **/
+	record Outcome(TypeBinding[] solutions, int inferenceKind) {
+		// no specific behavior
+	}
+
+	// identity of a method and of the types of the arguments of its invocation: differently annotated
+	// variants of a type are distinct keys, since the solutions they infer carry their annotations
+	private static final class Key {
+		final MethodBinding method;
+		final TypeBinding[] arguments;
+		final int hashCode;
+
+		Key(MethodBinding method, TypeBinding[] arguments) {
+			this.method = method;
+			this.arguments = arguments;
+			int hash = System.identityHashCode(method);
+			for (TypeBinding argument : arguments)
+				hash = hash * 31 + System.identityHashCode(argument);
+			this.hashCode = hash;
+		}
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key other) || other.method != this.method || other.arguments.length != this.arguments.length)
+				return false;
+			for (int i = 0; i < this.arguments.length; i++) {
+				if (other.arguments[i] != this.arguments[i]) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private Map<Key, Outcome> outcomes;
+	int hitCount; // statistics, collected into CompilerStats
+	int missCount; // invocations which could have been answered, but had to be inferred
+
+/**
+ * Answers the key of the outcome of the inference of the given invocation, or null if its outcome
+ * may depend on its context.
+ *
+ * @param method the invoked generic method
+ * @param arguments the types of the arguments, boxed as needed
+ * @param site the invocation
+ * @param context the fresh inference context of the invocation
+ */
+Object keyFor(MethodBinding method, TypeBinding[] arguments, InvocationSite site, InferenceContext18 context) {
+	if (!ENABLED
+			|| !(site instanceof MessageSend messageSend)
+			|| context.outerContext != null
+			|| messageSend.getExpressionContext() != ExpressionContext.VANILLA_CONTEXT
+			|| messageSend.invocationTargetType() != null)
+		return null;
+	Expression[] expressions = messageSend.arguments;
+	for (int i = 0, length = expressions == null ? 0 : expressions.length; i < length; i++) {
+		if (expressions[i].getPolyExpressions().length > 0)
+			return null;
+	}
+	for (TypeBinding argument : arguments) {
+		if (!argument.isProperType(true) || mentionsCapture(argument))
+			return null;
+	}
+	return new Key(method, arguments.clone());
+}
+
+/**
+ * Answers the outcome recorded for the given key, or null.
+ */
+Outcome get(Object key) {
+	Outcome outcome = this.outcomes == null ? null : this.outcomes.get(key);
+	if (outcome != null)
+		this.hitCount++;
+	else
+		this.missCount++;
+	return outcome;
+}
+
+/**
+ * Records the outcome of a complete and successful inference, unless it mentions captures.
+ */
+void put(Object key, TypeBinding[] solutions, InferenceContext18 context) {
+	if (context.usesUncheckedConversion || context.hasIgnoredMissingType || context.hasPrematureOverloadResolution())
+		return;
+	for (TypeBinding solution : solutions) {
+		if (mentionsCapture(solution))
+			return;
+	}
+	if (this.outcomes == null)
+		this.outcomes = new HashMap<>();
+	this.outcomes.put((Key) key, new Outcome(solutions.clone(), context.inferenceKind));
+}
+
+private static boolean mentionsCapture(TypeBinding type) {
+	return type.syntheticTypeVariablesMentioned() != Binding.NO_TYPE_VARIABLES;
+}
+
+void reset() {
+	this.outcomes = null;
+	this.hitCount = 0;
+	this.missCount = 0;
+}
+}
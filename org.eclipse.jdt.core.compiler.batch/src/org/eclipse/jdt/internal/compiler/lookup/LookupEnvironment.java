@@ -57,8 +57,10 @@ import org.eclipse.jdt.internal.compiler.ast.ASTNode;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.Wildcard;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ITypeRequestor;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
@@ -150,6 +152,12 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 
 	public String moduleVersion; 	// ROOT_ONLY
 
+	// statistics, collected into CompilerStats
+	public int binaryTypeCount;		// ROOT_ONLY
+	public long binaryTypeBytes;	// ROOT_ONLY
+	public int inferenceCount;		// ROOT_ONLY
+	final InferenceResultCache inferenceResults = new InferenceResultCache(); // ROOT_ONLY
+
 	static enum CompleteTypeBindingsSteps {
 		NONE,
 		CHECK_AND_SET_IMPORTS,
@@ -1070,6 +1078,9 @@ public BinaryTypeBinding createBinaryTypeFrom(IBinaryType binaryType, PackageBin
 public BinaryTypeBinding createBinaryTypeFrom(IBinaryType binaryType, PackageBinding packageBinding, boolean needFieldsAndMethods, AccessRestriction accessRestriction) {
 	if (this != packageBinding.environment)
 		return packageBinding.environment.createBinaryTypeFrom(binaryType, packageBinding, needFieldsAndMethods, accessRestriction);
+	this.root.binaryTypeCount++;
+	if (binaryType instanceof ClassFileReader reader)
+		this.root.binaryTypeBytes += reader.getClassFileLength();
 	BinaryTypeBinding binaryBinding = new BinaryTypeBinding(packageBinding, binaryType, this);
 
 	// resolve any array bindings which reference the unresolvedType
@@ -2270,6 +2281,16 @@ public MethodVerifier newMethodVerifier() {
 	return new MethodVerifier15(this);
 }
 
+/*
+ * Records the name of a field or method looked up in a type as a member reference of the unit being completed,
+ * since not every lookup goes through a scope of that unit.
+ */
+void recordMemberReference(char[] memberName) {
+	CompilationUnitDeclaration unit = this.root.unitBeingCompleted;
+	if (unit != null && unit.scope != null)
+		unit.scope.recordMemberReference(memberName);
+}
+
 public void releaseClassFiles(org.eclipse.jdt.internal.compiler.ClassFile[] classFiles) {
 	for (ClassFile classFile : classFiles)
 		this.classFilePool.release(classFile);
@@ -2308,10 +2329,29 @@ public void reset() {
 
 	this.classFilePool.reset();
 	this.typeSystem.reset();
+	this.binaryTypeCount = 0;
+	this.binaryTypeBytes = 0;
+	this.inferenceCount = 0;
+	this.inferenceResults.reset();
 	// name environment has a longer life cycle, and must be reset in
 	// the code which created it.
 }
 
+/**
+ * Add the statistics collected since the last reset to the given compiler statistics.
+ */
+public void recordStats(CompilerStats stats) {
+	LookupEnvironment env = this.root;
+	stats.binaryTypeCount += env.binaryTypeCount;
+	stats.binaryTypeBytes += env.binaryTypeBytes;
+	stats.inferenceCount += env.inferenceCount;
+	stats.inferenceCacheHits += env.inferenceResults.hitCount;
+	stats.inferenceCacheMisses += env.inferenceResults.missCount;
+	stats.typeCount += this.typeSystem.getTypeCount();
+	stats.parameterizedTypeCount += this.typeSystem.getParameterizedTypeCount();
+	this.classFilePool.recordStats(stats);
+}
+
 /**
  * Associate a given type with some access restriction
  * (did not store the restriction directly into binding, since sparse information)
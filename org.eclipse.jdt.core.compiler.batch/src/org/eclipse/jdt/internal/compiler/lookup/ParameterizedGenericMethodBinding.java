@@ -245,6 +245,13 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 			// ---- 18.5.1 (Applicability): ----
 			final boolean isPolyExpression = invocationSite instanceof Expression &&   ((Expression) invocationSite).isTrulyExpression() &&
 					((Expression)invocationSite).isPolyExpression(originalMethod);
+			InferenceResultCache cache = environment.root.inferenceResults;
+			Object cacheKey = allArgumentsAreProper && !isPolyExpression ? cache.keyFor(originalMethod, arguments, invocationSite, infCtx18) : null;
+			if (cacheKey != null) {
+				InferenceResultCache.Outcome outcome = cache.get(cacheKey);
+				if (outcome != null)
+					return computeCompatibleMethod18(originalMethod, arguments, scope, invocationSite, infCtx18, outcome);
+			}
 			boolean isDiamond = isPolyExpression && originalMethod.isConstructor();
 			boolean isInexactVarargsInference = false;
 			if (arguments.length == parameters.length) {
@@ -306,6 +313,8 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 					}
 					if (invocationSite instanceof Invocation && allArgumentsAreProper && (expectedType == null || expectedType.isProperType(true)))
 						infCtx18.forwardResults(result, (Invocation) invocationSite, methodSubstitute, expectedType);
+					if (cacheKey != null && invocationTypeInferred && !hasReturnProblem)
+						cache.put(cacheKey, solutions, infCtx18);
 					try {
 						if (infCtx18.hasIgnoredMissingType) {
 							return new ProblemMethodBinding(originalMethod, originalMethod.selector, parameters, ProblemReasons.MissingTypeInSignature);
@@ -357,6 +366,27 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 		}
 	}
 
+	/*
+	 * Completes the invocation of a generic method with the outcome of the inference of an identical invocation,
+	 * as computeCompatibleMethod18 completes it after inferring its invocation type.
+	 */
+	private static MethodBinding computeCompatibleMethod18(MethodBinding originalMethod, TypeBinding[] arguments, Scope scope,
+			InvocationSite invocationSite, InferenceContext18 infCtx18, InferenceResultCache.Outcome outcome) {
+		infCtx18.inferenceKind = outcome.inferenceKind();
+		infCtx18.stepCompleted = InferenceContext18.TYPE_INFERRED_FINAL;
+		ParameterizedGenericMethodBinding methodSubstitute = scope.environment().createParameterizedGenericMethod(originalMethod, outcome.solutions(), false, false, null);
+		try {
+			if (scope.compilerOptions().isAnnotationBasedNullAnalysisEnabled)
+				NullAnnotationMatching.checkForContradictions(methodSubstitute, invocationSite, scope);
+			MethodBinding problemMethod = methodSubstitute.boundCheck18(scope, arguments, invocationSite);
+			if (problemMethod != null)
+				return problemMethod;
+		} finally {
+			((Invocation) invocationSite).registerInferenceContext(methodSubstitute, infCtx18); // as a complete context
+		}
+		return methodSubstitute;
+	}
+
 	MethodBinding boundCheck18(Scope scope, TypeBinding[] arguments, InvocationSite site) {
 		Substitution substitution = this;
 		ParameterizedGenericMethodBinding methodSubstitute = this;
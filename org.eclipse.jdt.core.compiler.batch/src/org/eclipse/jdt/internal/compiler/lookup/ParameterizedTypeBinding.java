@@ -748,6 +748,7 @@ public class ParameterizedTypeBinding extends ReferenceBinding implements Substi
 	 */
 	@Override
 	public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes, CompilationUnitScope refScope) {
+		this.environment.recordMemberReference(selector);
 		// sender from refScope calls recordTypeReference(this)
 		int argCount = argumentTypes.length;
 		boolean foundNothing = true;
@@ -813,6 +814,7 @@ public class ParameterizedTypeBinding extends ReferenceBinding implements Substi
 	 */
 	@Override
 	public FieldBinding getField(char[] fieldName, boolean needResolve) {
+		this.environment.recordMemberReference(fieldName);
 		if (((this.tagBits & TagBits.AreFieldsComplete) == 0) && ((this.type.tagBits & TagBits.AreFieldsSorted) != 0)) {
 			// assume that completing fields is in progress
 			FieldBinding originalField = ReferenceBinding.binarySearch(fieldName, this.type.unResolvedFields());
@@ -854,6 +856,7 @@ public class ParameterizedTypeBinding extends ReferenceBinding implements Substi
 	 */
 	@Override
 	public MethodBinding[] getMethods(char[] selector) {
+		this.environment.recordMemberReference(selector);
 		if (this.methods != null) {
 			long range;
 			if ((range = ReferenceBinding.binarySearch(selector, this.methods)) >= 0) {
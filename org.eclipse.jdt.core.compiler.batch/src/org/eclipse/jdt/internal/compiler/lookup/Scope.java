@@ -1329,6 +1329,7 @@ public abstract class Scope {
 	public MethodBinding findExactMethod(ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
+		unitScope.recordMemberReference(selector);
 		MethodBinding exactMethod = receiverType.getExactMethod(selector, argumentTypes, unitScope);
 		if (exactMethod != null && exactMethod.typeVariables == Binding.NO_TYPE_VARIABLES && !exactMethod.isBridge()) {
 			// in >= 1.5 mode, ensure the exactMatch did not match raw types
@@ -1400,6 +1401,7 @@ public abstract class Scope {
 
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReference(receiverType);
+		unitScope.recordMemberReference(fieldName);
 
 		checkArrayField: {
 			TypeBinding leafType;
@@ -1674,6 +1676,7 @@ public abstract class Scope {
 		ObjectVector found = new ObjectVector(3);
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
+		unitScope.recordMemberReference(selector);
 		List<TypeBinding> visitedTypes = new ArrayList<>();
 		if (receiverTypeIsInterface) {
 			unitScope.recordTypeReference(receiverType);
@@ -2613,6 +2616,7 @@ public abstract class Scope {
 	 */
 	public MethodBinding getImplicitMethod(char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 
+		compilationUnitScope().recordMemberReference(selector);
 		boolean insideStaticContext = false;
 		boolean insideConstructorCall = false;
 		boolean insideTypeAnnotation = false;
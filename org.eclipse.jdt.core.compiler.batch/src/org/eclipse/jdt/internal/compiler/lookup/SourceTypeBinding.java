@@ -1753,6 +1753,7 @@ public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes
 	if (!isPrototype())
 		return this.prototype.getExactMethod(selector, argumentTypes, refScope);
 
+	this.environment.recordMemberReference(selector);
 	// sender from refScope calls recordTypeReference(this)
 	int argCount = argumentTypes.length;
 	boolean foundNothing = true;
@@ -1843,6 +1844,7 @@ public FieldBinding getField(char[] fieldName, boolean needResolve) {
 	if (!isPrototype())
 		return this.prototype.getField(fieldName, needResolve);
 
+	this.environment.recordMemberReference(fieldName);
 	if ((this.tagBits & TagBits.AreFieldsComplete) != 0)
 		return ReferenceBinding.binarySearch(fieldName, this.fields);
 
@@ -1926,6 +1928,7 @@ public MethodBinding[] getMethods(char[] selector) {
 	if (!isPrototype())
 		return this.prototype.getMethods(selector);
 
+	this.environment.recordMemberReference(selector);
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0) {
 		long range;
 		if ((range = ReferenceBinding.binarySearch(selector, this.methods)) >= 0) {
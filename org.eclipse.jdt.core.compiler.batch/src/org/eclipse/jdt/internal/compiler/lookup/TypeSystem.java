@@ -19,8 +19,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.lookup;
 
-import java.util.HashMap;
-import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
@@ -68,122 +66,99 @@ import org.eclipse.jdt.internal.compiler.util.Util;
 */
 public class TypeSystem {
 
+	/**
+	 * Parameterized types, hashed by their generic type, type arguments and enclosing type, all unannotated.
+	 * <p>
+	 * The table is open addressed on the hash codes of these tuples, so that lookups allocate nothing. A slot holds all
+	 * the parameterized types whose tuples have its hash code, including their annotated variants, and lookups check the
+	 * candidates of a slot one by one. Hash codes are computed from names and from ids which survive the resolution
+	 * of unresolved types and the cloning of type variables in {@link TypeSystem#forceRegisterAsDerived(TypeVariableBinding)},
+	 * so that entries never have to be rehashed when their types are updated.
+	 * </p>
+	 */
 	public final class HashedParameterizedTypes {
 
-		private final class PTBKey extends ReferenceBinding { // extends ReferenceBinding so it can be used as wrapper
-			protected ReferenceBinding type; // must ensure the type is resolved
-			public TypeBinding[] arguments;
-			private ReferenceBinding enclosingType;
-			public PTBKey(ReferenceBinding type, TypeBinding[] arguments, ReferenceBinding enclosingType, LookupEnvironment environment) {
-				this.type = type;
-				this.arguments = arguments;
-				this.enclosingType = enclosingType;
-
-				if(environment != null) {
-					// only add as wrapper when used in put()
-					if (type instanceof UnresolvedReferenceBinding)
-						((UnresolvedReferenceBinding) type).addWrapper(this, environment);
-					if (arguments != null) {
-						for (int i = 0; i < arguments.length; i++) {
-							TypeBinding argument = arguments[i];
-							if (argument instanceof UnresolvedReferenceBinding)
-								((UnresolvedReferenceBinding) argument).addWrapper(this, environment);
-							if (argument.hasNullTypeAnnotations())
-								this.tagBits |= TagBits.HasNullTypeAnnotation;
-							if (argument.getClass() == TypeVariableBinding.class) {
-								final int idx = i;
-								TypeVariableBinding typeVariableBinding = (TypeVariableBinding) argument;
-								Consumer<TypeVariableBinding> previousConsumer = typeVariableBinding.updateWhenSettingTypeAnnotations;
-								typeVariableBinding.updateWhenSettingTypeAnnotations = (newTvb) -> {
-									// update the TVB argument and simulate a re-hash:
-									ParameterizedTypeBinding[] value = HashedParameterizedTypes.this.hashedParameterizedTypes.get(this);
-									arguments[idx] = newTvb;
-									HashedParameterizedTypes.this.hashedParameterizedTypes.put(this, value);
-									// for the unlikely case of multiple PTBKeys referring to this TVB chain to the next consumer:
-									if (previousConsumer != null)
-										previousConsumer.accept(newTvb);
-								};
-							}
-						}
-					}
-				}
-			}
-			@Override
-			public void swapUnresolved(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType, LookupEnvironment env) {
-				if (this.type == unresolvedType) { //$IDENTITY-COMPARISON$
-					this.type = resolvedType; // cannot be raw since being parameterized below
-					ReferenceBinding enclosing = resolvedType.enclosingType();
-					if (enclosing != null) {
-						this.enclosingType = resolvedType.isStatic() ? enclosing : (ReferenceBinding) env.convertUnresolvedBinaryToRawType(enclosing); // needed when binding unresolved member type
-						if (this.enclosingType.getClass() == ParameterizedTypeBinding.class) {
-							throw new IllegalStateException("unexpected: resolved enclosing type of " //$NON-NLS-1$
-									+ new String(this.type.readableName(false)) + " is a ParameterizedTypeBinding"); //$NON-NLS-1$
-						}
-					}
-				}
-				if (this.arguments != null) {
-					for (int i = 0, l = this.arguments.length; i < l; i++) {
-						if (this.arguments[i] == unresolvedType) { //$IDENTITY-COMPARISON$
-							this.arguments[i] = env.convertUnresolvedBinaryToRawType(resolvedType);
-						}
-					}
-				}
+		private int[] hashCodes = new int[256];
+		private ParameterizedTypeBinding[][] slots = new ParameterizedTypeBinding[256][];
+		private int slotCount;
+
+		private int hash(TypeBinding type) {
+			// unresolved types may change their ids when resolved, whereas they keep their names
+			if (type instanceof WildcardBinding || type instanceof TypeVariableBinding || type.getClass() == ParameterizedTypeBinding.class)
+				return type.id;
+			return type.hashCode();
+		}
+
+		private int hashCode(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType) {
+			final int prime = 31;
+			int hashCode = 1 + hash(getUnannotatedType(genericType));
+			for (int i = 0, length = typeArguments == null ? 0 : typeArguments.length; i < length; i++) {
+				hashCode = hashCode * prime + hash(getUnannotatedType(typeArguments[i]));
 			}
-			@Override
-			public boolean equals(Object other) {
-				PTBKey that = (PTBKey) other;  // homogeneous container.
-				return this.type == that.type && this.enclosingType == that.enclosingType && Util.effectivelyEqual(this.arguments, that.arguments); //$IDENTITY-COMPARISON$
+			if (enclosingType != null) {
+				TypeBinding unannotatedEnclosingType = getUnannotatedType(enclosingType);
+				// Note: when a generic type is resolved, a null enclosing type is never replaced by a ParameterizedTypeBinding
+				if (unannotatedEnclosingType.getClass() == ParameterizedTypeBinding.class)
+					hashCode = hashCode * prime + unannotatedEnclosingType.id;
 			}
-			final int hash(TypeBinding b) {
-				if(b instanceof WildcardBinding || b instanceof TypeVariableBinding || b.getClass() == ParameterizedTypeBinding.class) {
-					return System.identityHashCode(b);
-				}
-				return b.hashCode();
+			return hashCode;
+		}
+
+		// index of the slot for the given hash code, or of the free slot where it goes
+		private int indexOf(int hashCode) {
+			int mask = this.slots.length - 1;
+			int index = hashCode * 0x9E3779B9;
+			index = (index ^ (index >>> 16)) & mask;
+			while (this.slots[index] != null && this.hashCodes[index] != hashCode) {
+				index = (index + 1) & mask;
 			}
-			@Override
-			public int hashCode() {
-				final int prime=31;
-				int hashCode = 1 + hash(this.type);
-				if (this.enclosingType != null && this.enclosingType.getClass() == ParameterizedTypeBinding.class) {
-					// Note: this works as in swapUnresolved, a null enclosingType is never replaced by a
-					// ParameterizedTypeBinding (just by a non-generic or RawTypeBinding)
-					hashCode = hashCode * prime + System.identityHashCode(this.enclosingType);
-				}
-				for (int i = 0, length = this.arguments == null ? 0 : this.arguments.length; i < length; i++) {
-					hashCode = hashCode * prime + hash(this.arguments[i]);
+			return index;
+		}
+
+		private void rehash() {
+			int[] oldHashCodes = this.hashCodes;
+			ParameterizedTypeBinding[][] oldSlots = this.slots;
+			this.hashCodes = new int[oldSlots.length * 2];
+			this.slots = new ParameterizedTypeBinding[oldSlots.length * 2][];
+			for (int i = 0; i < oldSlots.length; i++) {
+				if (oldSlots[i] != null) {
+					int index = indexOf(oldHashCodes[i]);
+					this.hashCodes[index] = oldHashCodes[i];
+					this.slots[index] = oldSlots[i];
 				}
-				return hashCode;
 			}
 		}
 
-		HashMap<PTBKey, ParameterizedTypeBinding []> hashedParameterizedTypes = new HashMap<>(256);
+		private boolean matchesUnannotated(TypeBinding[] arguments, TypeBinding[] typeArguments) {
+			int length = arguments == null ? 0 : arguments.length;
+			if (length != (typeArguments == null ? 0 : typeArguments.length))
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (arguments[i] != getUnannotatedType(typeArguments[i])) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
 
 		ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
 
-			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-			int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-			TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-			for (int i = 0; i < typeArgumentsLength; i++) {
-				unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
+			ParameterizedTypeBinding [] parameterizedTypeBindings = this.slots[indexOf(hashCode(genericType, typeArguments, enclosingType))];
+			if (parameterizedTypeBindings == null)
+				return null;
+			boolean matchAnnotated = TypeSystem.this instanceof AnnotatableTypeSystem;
+			ReferenceBinding genericTypeToMatch = genericType, enclosingTypeToMatch = enclosingType;
+			if (!matchAnnotated) {
+				genericTypeToMatch = (ReferenceBinding) getUnannotatedType(genericType);
+				enclosingTypeToMatch = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 			}
-			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
-
-			PTBKey key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, null);
-			ReferenceBinding genericTypeToMatch = unannotatedGenericType, enclosingTypeToMatch = unannotatedEnclosingType;
-			TypeBinding [] typeArgumentsToMatch = unannotatedTypeArguments;
-			if (TypeSystem.this instanceof AnnotatableTypeSystem) {
-				genericTypeToMatch = genericType;
-				enclosingTypeToMatch = enclosingType;
-				typeArgumentsToMatch = typeArguments;
-			}
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(key);
-			for (int i = 0, length = parameterizedTypeBindings == null ? 0 : parameterizedTypeBindings.length; i < length; i++) {
-				ParameterizedTypeBinding parameterizedType = parameterizedTypeBindings[i];
+			for (ParameterizedTypeBinding parameterizedType : parameterizedTypeBindings) {
 				if (parameterizedType.actualType() != genericTypeToMatch) { //$IDENTITY-COMPARISON$
 					continue;
 				}
 				if (parameterizedType.enclosingType != enclosingTypeToMatch //$IDENTITY-COMPARISON$
-						|| !Util.effectivelyEqual(parameterizedType.typeArguments(), typeArgumentsToMatch))
+						|| !(matchAnnotated
+								? Util.effectivelyEqual(parameterizedType.typeArguments(), typeArguments)
+								: matchesUnannotated(parameterizedType.typeArguments(), typeArguments)))
 					continue;
 				if (Util.effectivelyEqual(annotations, parameterizedType.getTypeAnnotations()))
 					return parameterizedType;
@@ -193,31 +168,28 @@ public class TypeSystem {
 		}
 
 		void put (ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, ParameterizedTypeBinding parameterizedType)  {
-			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-			int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-			TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-			for (int i = 0; i < typeArgumentsLength; i++) {
-				unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
-			}
-			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
-
-			PTBKey key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, TypeSystem.this.environment);
-
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(key);
+			int hashCode = hashCode(genericType, typeArguments, enclosingType);
+			int index = indexOf(hashCode);
+			ParameterizedTypeBinding [] parameterizedTypeBindings = this.slots[index];
 			int slot;
 			if (parameterizedTypeBindings == null) {
 				slot = 0;
 				parameterizedTypeBindings = new ParameterizedTypeBinding[1];
+				this.hashCodes[index] = hashCode;
+				this.slotCount++;
 			} else {
 				slot = parameterizedTypeBindings.length;
 				System.arraycopy(parameterizedTypeBindings, 0, parameterizedTypeBindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
 			}
 			parameterizedTypeBindings[slot] = parameterizedType;
-			this.hashedParameterizedTypes.put(key, parameterizedTypeBindings);
+			this.slots[index] = parameterizedTypeBindings;
+			if (this.slotCount * 2 > this.slots.length)
+				rehash();
 		}
 	}
 
 	private int typeid = TypeIds.T_LastWellKnownTypeId;
+	private int parameterizedTypeCount; // statistics
 	private TypeBinding [][] types;
 	protected HashedParameterizedTypes parameterizedTypes;  // auxiliary fast lookup table for parameterized types.
 	private SimpleLookupTable annotationTypes; // cannot store in types, since AnnotationBinding is not a TypeBinding and we don't want types to operate at Binding level.
@@ -277,9 +249,6 @@ public class TypeSystem {
 			if (unannotated == derived) { //$IDENTITY-COMPARISON$
 				// was previously registered as unannotated, replace by a fresh clone to remain unannotated:
 				this.types[id][0] = unannotated = derived.clone(null);
-				if (derived.updateWhenSettingTypeAnnotations != null) {
-					derived.updateWhenSettingTypeAnnotations.accept((TypeVariableBinding) unannotated);
-				}
 			}
 			// proceed as normal:
 			cacheDerivedType(unannotated, derived);
@@ -357,6 +326,7 @@ public class TypeSystem {
 			return parameterizedType;
 
 		parameterizedType = new ParameterizedTypeBinding(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, this.environment);
+		this.parameterizedTypeCount++;
 		cacheDerivedType(unannotatedGenericType, parameterizedType);
 		this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
 		int typesLength = this.types.length;
@@ -589,9 +559,20 @@ public class TypeSystem {
 		}
 	}
 
+	/** Answer the number of types registered since the last reset, for statistics. */
+	public int getTypeCount() {
+		return this.typeid - TypeIds.T_LastWellKnownTypeId;
+	}
+
+	/** Answer the number of parameterized types created since the last reset, for statistics. */
+	public int getParameterizedTypeCount() {
+		return this.parameterizedTypeCount;
+	}
+
 	public void reset() {
 		this.annotationTypes = new SimpleLookupTable(16);
 		this.typeid = TypeIds.T_LastWellKnownTypeId;
+		this.parameterizedTypeCount = 0;
 		this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][];
 		this.parameterizedTypes = new HashedParameterizedTypes();
 	}
@@ -45,7 +45,6 @@ package org.eclipse.jdt.internal.compiler.lookup;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Consumer;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
@@ -79,12 +78,6 @@ public class TypeVariableBinding extends ReferenceBinding {
 	public char[] genericTypeSignature;
 	LookupEnvironment environment;
 
-	/*
-	 * In one particular situation a TVB will be cloned and the clone will be used as the 'naked' type
-	 * within TypeSystem. This may require some updating inside TypeSystem's hash structure.
-	 */
-	Consumer<TypeVariableBinding> updateWhenSettingTypeAnnotations;
-
 	public TypeVariableBinding(char[] sourceName, Binding declaringElement, int rank, LookupEnvironment environment) {
 		this.sourceName = sourceName;
 		this.declaringElement = declaringElement;
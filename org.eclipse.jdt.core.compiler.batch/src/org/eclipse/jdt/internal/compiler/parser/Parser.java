@@ -948,6 +948,7 @@ private boolean tolerateDefaultClassMethods = false;
 private boolean processingLambdaParameterList = false;
 private boolean expectTypeAnnotation = false;
 private boolean reparsingLambdaExpression = false;
+private boolean scannerShared; // parsed nodes keep the scanner, see newReferenceExpression()
 
 private Map<TypeDeclaration, Integer[]> recordNestedMethodLevels;
 private Map<Integer, Boolean> recordPatternSwitches;
@@ -8696,6 +8697,7 @@ protected void consumeEmptyTypeArguments() {
 }
 
 public ReferenceExpression newReferenceExpression() {
+	this.scannerShared = true;
 	return new ReferenceExpression(this.scanner);
 }
 
@@ -12235,6 +12237,35 @@ public void initializeScanner(){
 		this.options.isTaskCaseSensitive/*taskCaseSensitive*/,
 		this.options.enablePreviewFeatures /*isPreviewEnabled*/);
 }
+/**
+ * Forgets the units parsed so far, so that this parser can be kept for parsing other units later on
+ * (see {@link ParserPool}) without retaining their nodes, source or compilation result. The stacks
+ * keep the size they grew to.
+ * <p>
+ * Parsed method references keep the scanner to reparse themselves while being resolved, possibly by
+ * another thread than the one reusing this parser: this parser gets a new scanner in that case.
+ * </p>
+ */
+public void releaseUnits() {
+	initialize();
+	Arrays.fill(this.genericsStack, null);
+	Arrays.fill(this.typeAnnotationStack, null);
+	this.recoveredTypes = null;
+	this.pendingRecoveredType = null;
+	this.problemReporter.referenceContext = null;
+	if (this.javadocParser != null) {
+		this.javadocParser.scanner.source = null;
+	}
+	this.scanner.source = null;
+	if (this.recoveryScanner != null) {
+		this.recoveryScanner.source = null;
+	}
+	if (this.scannerShared) {
+		initializeScanner();
+		this.recoveryScanner = null;
+		this.scannerShared = false;
+	}
+}
 public void jumpOverMethodBody() {
 	//on diet parsing.....do not buffer method statements
 
@@ -13390,6 +13421,9 @@ protected void prepareForBlockStatements() {
  *
  * @return ProblemReporter
  */
+public CompilerOptions options() {
+	return this.options;
+}
 public ProblemReporter problemReporter(){
 	if (this.scanner.recordLineSeparator) {
 		this.compilationUnit.compilationResult.lineSeparatorPositions = this.scanner.getLineEnds();
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.parser;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps one parser per thread, so that short lived parses (indexing, DOM ASTs...) of a thread reuse the stacks
+ * and the scanner of the previous parse instead of allocating and growing them again.
+ * <p>
+ * A parser is taken with {@link #acquire(Object, Supplier)} and given back with {@link #release(Object, Parser)}
+ * once the parsed unit was consumed, after which the caller must not use it anymore. The parser of a thread is only
+ * reused for an equal key, i.e. the key must capture everything the parser was configured with (options, flags...).
+ * A parse nested in another one of the same thread gets a new parser.
+ * </p>
+ */
+public final class ParserPool<P extends Parser> {
+
+	private record Entry<P>(Object key, P parser) {
+		// no specific behavior
+	}
+
+	private final ThreadLocal<Entry<P>> entries = new ThreadLocal<>();
+
+/**
+ * Answers the parser released last by the current thread with an equal key, or a new parser created by the given factory.
+ */
+public P acquire(Object key, Supplier<P> factory) {
+	Entry<P> entry = this.entries.get();
+	if (entry != null) {
+		this.entries.remove(); // in use until released
+		if (entry.key().equals(key))
+			return entry.parser();
+	}
+	return factory.get();
+}
+
+/**
+ * Gives back the given parser, acquired with the given key, for the next parse of the current thread.
+ */
+public void release(Object key, P parser) {
+	parser.releaseUnits();
+	this.entries.set(new Entry<>(key, parser));
+}
+}
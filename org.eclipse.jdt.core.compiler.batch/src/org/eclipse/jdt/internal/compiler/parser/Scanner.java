@@ -145,6 +145,94 @@ public class Scanner implements TerminalTokens {
 	public static final String INVALID_CHAR_IN_STRING = "Invalid_Char_In_String"; //$NON-NLS-1$
 	public static final String INVALID_DIGIT = "Invalid_Digit"; //$NON-NLS-1$
 	private static final int[] EMPTY_LINE_ENDS = Util.EMPTY_INT_ARRAY;
+	// ASCII characters which must be scanned when jumping over a body, see jumpOverInsignificantCharacters()
+	private static final boolean[] BODY_SIGNIFICANT_CHARS = new boolean[ScannerHelper.MAX_OBVIOUS];
+	static {
+		for (char c : new char[] { '{', '}', '\'', '"', '/', '\\', '\r', '\n' })
+			BODY_SIGNIFICANT_CHARS[c] = true;
+	}
+	/*
+	 * Perfect hash table of the keywords, restricted keywords and restricted identifiers, see keywordHash(char[], int, int).
+	 * The multiplier of the hash was searched (offline) for the keywords to land in distinct slots: it has to be searched
+	 * again when a keyword is added. The token of a keyword which depends on the context is TokenNameNotAToken, such a
+	 * keyword being answered by the dispatch of internalScanIdentifierOrKeyword(int, int, char[]).
+	 */
+	private static final int KEYWORD_HASH_MULTIPLIER = 0x1ee01153;
+	private static final int MAX_KEYWORD_LENGTH = 12; // synchronized
+	private static final char[][] KEYWORDS = new char[256][];
+	private static final int[] KEYWORD_TOKENS = new int[256];
+	static {
+		addKeyword("abstract", TokenNameabstract); //$NON-NLS-1$
+		addKeyword("boolean", TokenNameboolean); //$NON-NLS-1$
+		addKeyword("break", TokenNamebreak); //$NON-NLS-1$
+		addKeyword("byte", TokenNamebyte); //$NON-NLS-1$
+		addKeyword("case", TokenNamecase); //$NON-NLS-1$
+		addKeyword("catch", TokenNamecatch); //$NON-NLS-1$
+		addKeyword("char", TokenNamechar); //$NON-NLS-1$
+		addKeyword("class", TokenNameclass); //$NON-NLS-1$
+		addKeyword("const", TokenNameconst); //$NON-NLS-1$
+		addKeyword("continue", TokenNamecontinue); //$NON-NLS-1$
+		addKeyword("default", TokenNamedefault); //$NON-NLS-1$
+		addKeyword("do", TokenNamedo); //$NON-NLS-1$
+		addKeyword("double", TokenNamedouble); //$NON-NLS-1$
+		addKeyword("else", TokenNameelse); //$NON-NLS-1$
+		addKeyword("extends", TokenNameextends); //$NON-NLS-1$
+		addKeyword("false", TokenNamefalse); //$NON-NLS-1$
+		addKeyword("final", TokenNamefinal); //$NON-NLS-1$
+		addKeyword("finally", TokenNamefinally); //$NON-NLS-1$
+		addKeyword("float", TokenNamefloat); //$NON-NLS-1$
+		addKeyword("for", TokenNamefor); //$NON-NLS-1$
+		addKeyword("goto", TokenNamegoto); //$NON-NLS-1$
+		addKeyword("if", TokenNameif); //$NON-NLS-1$
+		addKeyword("implements", TokenNameimplements); //$NON-NLS-1$
+		addKeyword("import", TokenNameimport); //$NON-NLS-1$
+		addKeyword("instanceof", TokenNameinstanceof); //$NON-NLS-1$
+		addKeyword("int", TokenNameint); //$NON-NLS-1$
+		addKeyword("interface", TokenNameinterface); //$NON-NLS-1$
+		addKeyword("long", TokenNamelong); //$NON-NLS-1$
+		addKeyword("native", TokenNamenative); //$NON-NLS-1$
+		addKeyword("new", TokenNamenew); //$NON-NLS-1$
+		addKeyword("null", TokenNamenull); //$NON-NLS-1$
+		addKeyword("package", TokenNamepackage); //$NON-NLS-1$
+		addKeyword("private", TokenNameprivate); //$NON-NLS-1$
+		addKeyword("protected", TokenNameprotected); //$NON-NLS-1$
+		addKeyword("public", TokenNamepublic); //$NON-NLS-1$
+		addKeyword("return", TokenNamereturn); //$NON-NLS-1$
+		addKeyword("short", TokenNameshort); //$NON-NLS-1$
+		addKeyword("static", TokenNamestatic); //$NON-NLS-1$
+		addKeyword("strictfp", TokenNamestrictfp); //$NON-NLS-1$
+		addKeyword("super", TokenNamesuper); //$NON-NLS-1$
+		addKeyword("switch", TokenNameswitch); //$NON-NLS-1$
+		addKeyword("synchronized", TokenNamesynchronized); //$NON-NLS-1$
+		addKeyword("this", TokenNamethis); //$NON-NLS-1$
+		addKeyword("throw", TokenNamethrow); //$NON-NLS-1$
+		addKeyword("throws", TokenNamethrows); //$NON-NLS-1$
+		addKeyword("transient", TokenNametransient); //$NON-NLS-1$
+		addKeyword("true", TokenNametrue); //$NON-NLS-1$
+		addKeyword("try", TokenNametry); //$NON-NLS-1$
+		addKeyword("void", TokenNamevoid); //$NON-NLS-1$
+		addKeyword("volatile", TokenNamevolatile); //$NON-NLS-1$
+		addKeyword("while", TokenNamewhile); //$NON-NLS-1$
+		// keywords depending on the source level, on the kind of unit or on the following tokens
+		addKeyword("assert", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("enum", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("exports", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("module", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("non", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("open", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("opens", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("permits", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("provides", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("record", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("requires", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("sealed", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("to", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("transitive", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("uses", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("when", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("with", TokenNameNotAToken); //$NON-NLS-1$
+		addKeyword("yield", TokenNameNotAToken); //$NON-NLS-1$
+	}
 
 	public static final String INVALID_BINARY = "Invalid_Binary_Literal"; //$NON-NLS-1$
 	public static final String BINARY_LITERAL_NOT_BELOW_17 = "Binary_Literal_Not_Below_17"; //$NON-NLS-1$
@@ -2506,6 +2594,13 @@ public final void jumpOverBody() {
 					try {
 						char c = this.currentCharacter;
 						if (c < ScannerHelper.MAX_OBVIOUS) {
+							if (this.source[this.currentPosition - 1] == c) {
+								// identifiers, numbers, operators... cannot open or close the body: skip them along
+								// with the following ones, without scanning them as tokens
+								jumpOverInsignificantCharacters();
+								break NextToken;
+							}
+							// unicode escape
 							if ((ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ScannerHelper.C_IDENT_START) != 0) {
 								scanIdentifierOrKeyword();
 								break NextToken;
@@ -2553,6 +2648,52 @@ public final void jumpOverBody() {
 	}
 	return;
 }
+// skips the ASCII characters which cannot start a body, a literal, a comment, a line separator or a unicode escape,
+// the other ones (in particular unicode escapes and text blocks) being left to the complete scanning of jumpOverBody().
+// The identifiers are not scanned as tokens, but the assert keyword is still recorded (see containsAssertKeyword)
+private void jumpOverInsignificantCharacters() {
+	char[] src = this.source;
+	int position = this.currentPosition - 1; // from the current character on, which is not a unicode escape
+	int end = Math.min(src.length, this.eofPosition);
+	int identifierStart = -1;
+	while (position < end) {
+		char c = src[position];
+		if (c >= ScannerHelper.MAX_OBVIOUS || BODY_SIGNIFICANT_CHARS[c])
+			break;
+		if ((ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ScannerHelper.C_IDENT_PART) != 0) {
+			if (identifierStart < 0)
+				identifierStart = position;
+		} else if (identifierStart >= 0) {
+			checkAssertKeyword(src, identifierStart, position);
+			identifierStart = -1;
+		}
+		position++;
+	}
+	if (identifierStart >= 0) {
+		if (position < end && (src[position] >= ScannerHelper.MAX_OBVIOUS || src[position] == '\\')) {
+			// continued by a unicode character or escape, which may spell assert: scan the whole identifier completely
+			this.startPosition = identifierStart;
+			this.currentPosition = identifierStart + 1;
+			this.currentCharacter = src[identifierStart];
+			scanIdentifierOrKeyword();
+			return;
+		}
+		checkAssertKeyword(src, identifierStart, position);
+	}
+	this.currentPosition = position;
+}
+private void checkAssertKeyword(char[] src, int start, int end) {
+	if (end - start == 6
+			&& src[start] == 'a'
+			&& src[start + 1] == 's'
+			&& src[start + 2] == 's'
+			&& src[start + 3] == 'e'
+			&& src[start + 4] == 'r'
+			&& src[start + 5] == 't'
+			&& this.sourceLevel >= ClassFileConstants.JDK1_4) {
+		this.containsAssertKeyword = true;
+	}
+}
 public final boolean jumpOverUnicodeWhiteSpace() throws InvalidInputException {
 	//BOOLEAN
 	//handle the case of unicode. Jump over the next whiteSpace
@@ -2983,6 +3124,17 @@ public int scanIdentifierOrKeywordWithBoundCheck() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.withoutUnicodePtr == 0) {
+			// ASCII identifier parts are not stored: skip them all at once
+			pos = this.currentPosition;
+			char c;
+			while (pos < srcLength && (c = src[pos]) < ScannerHelper.MAX_OBVIOUS
+					&& (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] &
+							(ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT)) != 0) {
+				pos++;
+			}
+			this.currentPosition = pos;
+		}
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
@@ -3045,6 +3197,17 @@ public int scanIdentifierOrKeyword() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.withoutUnicodePtr == 0) {
+			// ASCII identifier parts are not stored: skip them all at once
+			pos = this.currentPosition;
+			char c;
+			while (pos < srcLength && (c = src[pos]) < ScannerHelper.MAX_OBVIOUS
+					&& (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] &
+							(ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT)) != 0) {
+				pos++;
+			}
+			this.currentPosition = pos;
+		}
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
@@ -3102,7 +3265,37 @@ public int scanIdentifierOrKeyword() {
 
 	return internalScanIdentifierOrKeyword(index, length, data);
 }
+private static void addKeyword(String keyword, int token) {
+	char[] chars = keyword.toCharArray();
+	int hash = keywordHash(chars, 0, chars.length);
+	if (KEYWORDS[hash] != null)
+		throw new IllegalStateException("Keyword hash collision: " + keyword + ", " + String.valueOf(KEYWORDS[hash])); //$NON-NLS-1$ //$NON-NLS-2$
+	KEYWORDS[hash] = chars;
+	KEYWORD_TOKENS[hash] = token;
+}
+// hashes the first, the last two characters and the length of the given identifier (at least 2 characters long)
+// into a slot of KEYWORDS
+private static int keywordHash(char[] data, int index, int length) {
+	int last = index + length - 1;
+	int key = (data[index] << 21) ^ (data[last - 1] << 14) ^ (data[last] << 7) ^ length;
+	return (key * KEYWORD_HASH_MULTIPLIER) >>> 24;
+}
 private int internalScanIdentifierOrKeyword(int index, int length, char[] data) {
+	// most identifiers are answered by the perfect hash table of the keywords, without any dispatch
+	if (length < 2 || length > MAX_KEYWORD_LENGTH)
+		return TokenNameIdentifier;
+	int hash = keywordHash(data, index, length);
+	char[] keyword = KEYWORDS[hash];
+	if (keyword == null || keyword.length != length)
+		return TokenNameIdentifier;
+	for (int i = 0; i < length; i++) {
+		if (data[index + i] != keyword[i])
+			return TokenNameIdentifier;
+	}
+	int token = KEYWORD_TOKENS[hash];
+	if (token != TokenNameNotAToken)
+		return token;
+	// the keyword depends on the context: dispatch on the first char, then the length
 	switch (data[index]) {
 		case 'a' :
 			switch(length) {
@@ -25,6 +25,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.ProviderNotFoundException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -87,6 +88,12 @@ public class CtSym {
 
 	public static final boolean DISABLE_CACHE = Boolean.getBoolean("org.eclipse.jdt.disable_CTSYM_cache"); //$NON-NLS-1$
 
+	/**
+	 * Directory where the signature files of each release are persisted once read, so that the following JVMs map
+	 * them into memory instead of walking ct.sym again (see {@link CtSymStore}). Not persisted if not set.
+	 */
+	private static final String STORE_DIRECTORY = System.getProperty("jdt.compiler.ctSymCacheDir"); //$NON-NLS-1$
+
 	static boolean VERBOSE = false;
 
 	/**
@@ -117,6 +124,11 @@ public class CtSym {
 	 */
 	private final Map<String, Map<String, Path>> allReleasesPaths = new ConcurrentHashMap<>();
 
+	/**
+	 * Persisted signature files, per release (versions encoded), see {@link #STORE_DIRECTORY}.
+	 */
+	private final Map<String, CtSymStore> stores = new ConcurrentHashMap<>();
+
 	CtSym(Path jdkHome) throws IOException {
 		this.jdkHome = jdkHome;
 		this.ctSymFile = jdkHome.resolve("lib/ct.sym"); //$NON-NLS-1$
@@ -332,24 +344,23 @@ public class CtSym {
 	 * before 12: javax/net/ssl/SSLSocketFactory.sig -> /89ABC/java.base/javax/net/ssl/SSLSocketFactory.sig
 	 */
 	private Map<String, Path> getCachedReleasePaths(String releaseCode) {
-		Map<String, Path> result = this.allReleasesPaths.computeIfAbsent(releaseCode, x -> {
+		Map<String, Path> result = this.allReleasesPaths.get(releaseCode);
+		if (result != null) {
+			return result;
+		}
+		// the files are listed (and persisted) outside of the map, whose bin would stay locked meanwhile
+		Map<String, Path> allReleaseFiles = new HashMap<>(4999);
+		CtSymStore store = loadStore(releaseCode);
+		if (store != null) {
+			for (String path : store.getPaths()) {
+				addReleaseFile(allReleaseFiles, this.fs.getPath(path));
+			}
+			this.stores.put(releaseCode, store);
+		} else {
 			List<Path> roots = releaseRoots(releaseCode);
-			Map<String, Path> allReleaseFiles = new HashMap<>(4999);
 			for (Path start : roots) {
 				try (Stream<Path> fileStream=Files.walk(start)) {
-					fileStream.filter(Files::isRegularFile).forEach(p -> {
-						if (isJRE12Plus()) {
-							// Don't use module name as part of the key
-							String binaryNameWithoutModule = p.subpath(2, p.getNameCount()).toString();
-							allReleaseFiles.put(binaryNameWithoutModule, p);
-							// Cache extra key with module added, see getFullPath().
-							String binaryNameWithModule = p.subpath(1, p.getNameCount()).toString();
-							allReleaseFiles.put(binaryNameWithModule, p);
-						} else {
-							String binaryNameWithoutModule = p.subpath(1, p.getNameCount()).toString();
-							allReleaseFiles.put(binaryNameWithoutModule, p);
-						}
-					});
+					fileStream.filter(Files::isRegularFile).forEach(p -> addReleaseFile(allReleaseFiles, p));
 				} catch (IOException e) {
 					String error = "Failed to read directory " + start + " contents in " + this.root; //$NON-NLS-1$ //$NON-NLS-2$
 					if (JRTUtil.PROPAGATE_IO_ERRORS) {
@@ -362,15 +373,98 @@ public class CtSym {
 					}
 				}
 			}
-			return Collections.unmodifiableMap(allReleaseFiles);
-		});
+		}
+		result = Collections.unmodifiableMap(allReleaseFiles);
+		Map<String, Path> previous = this.allReleasesPaths.putIfAbsent(releaseCode, result);
+		if (previous != null) {
+			return previous; // listed concurrently by another thread, which persists the files if needed
+		}
+		if (store == null) {
+			storeReleaseFiles(releaseCode, allReleaseFiles.values());
+		}
 		return result;
 	}
 
+	private void addReleaseFile(Map<String, Path> allReleaseFiles, Path p) {
+		if (isJRE12Plus()) {
+			// Don't use module name as part of the key
+			String binaryNameWithoutModule = p.subpath(2, p.getNameCount()).toString();
+			allReleaseFiles.put(binaryNameWithoutModule, p);
+			// Cache extra key with module added, see getFullPath().
+			String binaryNameWithModule = p.subpath(1, p.getNameCount()).toString();
+			allReleaseFiles.put(binaryNameWithModule, p);
+		} else {
+			String binaryNameWithoutModule = p.subpath(1, p.getNameCount()).toString();
+			allReleaseFiles.put(binaryNameWithoutModule, p);
+		}
+	}
+
+	private CtSymStore loadStore(String releaseCode) {
+		if (STORE_DIRECTORY == null) {
+			return null;
+		}
+		try {
+			Path file = CtSymStore.getFile(Path.of(STORE_DIRECTORY), this.ctSymFile, releaseCode);
+			return CtSymStore.load(file, CtSymStore.getIdentity(this.ctSymFile, releaseCode));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	// persists the given files of the release, the bytes being answered from the store from now on
+	private void storeReleaseFiles(String releaseCode, Collection<Path> paths) {
+		if (STORE_DIRECTORY == null) {
+			return;
+		}
+		try {
+			Map<String, byte[]> files = new HashMap<>(paths.size());
+			for (Path path : paths) {
+				String name = path.toString();
+				if (!files.containsKey(name)) {
+					byte[] bytes = JRTUtil.safeReadBytes(path);
+					if (bytes != null) {
+						files.put(name, bytes);
+					}
+				}
+			}
+			String identity = CtSymStore.getIdentity(this.ctSymFile, releaseCode);
+			Path file = CtSymStore.getFile(Path.of(STORE_DIRECTORY), this.ctSymFile, releaseCode);
+			CtSymStore.write(file, identity, files);
+			CtSymStore store = CtSymStore.load(file, identity);
+			if (store != null) {
+				this.stores.put(releaseCode, store);
+			}
+		} catch (IOException e) {
+			// not persisted, the files are read from ct.sym
+			if (VERBOSE) {
+				System.out.println("failed to store release " + releaseCode + " of " + this.ctSymFile + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+	}
+
+	// answers the bytes of the given file from the persisted releases, null if not persisted
+	private byte[] getStoredBytes(Path path) {
+		if (!this.stores.isEmpty()) {
+			String name = path.toString();
+			for (CtSymStore store : this.stores.values()) {
+				byte[] bytes = store.getBytes(name);
+				if (bytes != null) {
+					return bytes;
+				}
+			}
+		}
+		return null;
+	}
+
 	public byte[] getFileBytes(Path path) throws IOException {
 		if (DISABLE_CACHE) {
 			return JRTUtil.safeReadBytes(path);
 		} else {
+			byte[] stored = getStoredBytes(path);
+			if (stored != null) {
+				// mapped, not cached again
+				return stored;
+			}
 			Optional<byte[]> bytes = this.fileCache.computeIfAbsent(path, key -> {
 				try {
 					return Optional.ofNullable(JRTUtil.safeReadBytes(key));
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Signature files of one release of a ct.sym file, persisted into a single file of a cache directory,
+ * so that the following JVMs compiling against the same release map them into memory instead of walking
+ * and inflating the ct.sym file again.
+ * <p>
+ * The store is identified by the path, time stamp and size of the ct.sym file and by the release code:
+ * a store of a previous version of the ct.sym file is not loaded, but written again.
+ * </p>
+ * <p>
+ * Format: magic number, format version, identity (UTF), number of files, then for each file (sorted by path)
+ * its path in the ct.sym file system (UTF), the offset and the length of its bytes, then all the bytes.
+ * </p>
+ */
+final class CtSymStore {
+
+	private static final int MAGIC = 0x4354534D; // "CTSM"
+	private static final int VERSION = 1;
+
+	private final String[] paths;
+	private final int[] offsets;
+	private final int[] lengths;
+	private final MappedByteBuffer buffer;
+
+private CtSymStore(String[] paths, int[] offsets, int[] lengths, MappedByteBuffer buffer) {
+	this.paths = paths;
+	this.offsets = offsets;
+	this.lengths = lengths;
+	this.buffer = buffer;
+}
+
+/**
+ * Answers the file storing the given release of the given ct.sym file in the given directory.
+ */
+static Path getFile(Path directory, Path ctSymFile, String releaseCode) {
+	String name = "ct.sym-" + Integer.toHexString(ctSymFile.toAbsolutePath().toString().hashCode()) + '-' + releaseCode + ".store"; //$NON-NLS-1$ //$NON-NLS-2$
+	return directory.resolve(name);
+}
+
+/**
+ * Answers the identity of the given release of the given ct.sym file, recorded in its store.
+ */
+static String getIdentity(Path ctSymFile, String releaseCode) throws IOException {
+	return ctSymFile.toAbsolutePath() + "|" + Files.getLastModifiedTime(ctSymFile).toMillis() //$NON-NLS-1$
+			+ "|" + Files.size(ctSymFile) + "|" + releaseCode; //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+/**
+ * Maps the given store, answers null if it does not exist, is corrupted or stores another identity.
+ */
+static CtSymStore load(Path file, String identity) {
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !identity.equals(readString(buffer)))
+			return null;
+		int count = buffer.getInt();
+		String[] paths = new String[count];
+		int[] offsets = new int[count];
+		int[] lengths = new int[count];
+		for (int i = 0; i < count; i++) {
+			paths[i] = readString(buffer);
+			offsets[i] = buffer.getInt();
+			lengths[i] = buffer.getInt();
+		}
+		int dataStart = buffer.position();
+		for (int i = 0; i < count; i++) {
+			offsets[i] += dataStart;
+			if (lengths[i] < 0 || offsets[i] < dataStart || offsets[i] > buffer.limit() - lengths[i])
+				return null;
+		}
+		return new CtSymStore(paths, offsets, lengths, buffer);
+	} catch (NoSuchFileException e) {
+		return null;
+	} catch (IOException | RuntimeException e) { // BufferUnderflowException, IllegalArgumentException...
+		if (CtSym.VERBOSE) {
+			System.out.println("ignored ct.sym store " + file + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return null;
+	}
+}
+
+/**
+ * Writes the given files into the given store, replacing it atomically so that concurrent JVMs
+ * either see the previous store or the complete new one.
+ */
+static void write(Path file, String identity, Map<String, byte[]> files) throws IOException {
+	String[] paths = files.keySet().toArray(new String[files.size()]);
+	Arrays.sort(paths);
+	Files.createDirectories(file.getParent());
+	Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+	try {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeUTF(identity);
+			output.writeInt(paths.length);
+			int offset = 0;
+			for (String path : paths) {
+				int length = files.get(path).length;
+				output.writeUTF(path);
+				output.writeInt(offset);
+				output.writeInt(length);
+				offset += length;
+			}
+			for (String path : paths) {
+				output.write(files.get(path));
+			}
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	} finally {
+		Files.deleteIfExists(temp);
+	}
+}
+
+// reads a string written by DataOutput.writeUTF, file paths of ct.sym being ASCII
+private static String readString(ByteBuffer buffer) {
+	int length = buffer.getShort() & 0xFFFF;
+	if (length > buffer.remaining())
+		throw new BufferUnderflowException();
+	byte[] bytes = new byte[length];
+	buffer.get(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+
+/**
+ * Answers the paths of all the stored files, sorted.
+ */
+String[] getPaths() {
+	return this.paths;
+}
+
+/**
+ * Answers the bytes of the given file, or null if it is not stored.
+ */
+byte[] getBytes(String path) {
+	int index = Arrays.binarySearch(this.paths, path);
+	if (index < 0)
+		return null;
+	byte[] bytes = new byte[this.lengths[index]];
+	this.buffer.get(this.offsets[index], bytes);
+	return bytes;
+}
+}
@@ -26,6 +26,7 @@ import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -508,6 +509,12 @@ public class Util implements SuffixConstants {
 	 * @return new String(srcBytes, start, length, charset).toCharArray();
 	 **/
 	private static char[] decode(byte[] srcBytes, int start, int length, Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+			// most sources are plain ASCII: widen the bytes without any decoder and intermediate buffer
+			char[] dst = decodeAscii(srcBytes, start, length);
+			if (dst != null)
+				return dst;
+		}
 		ByteBuffer srcBuffer = ByteBuffer.wrap(srcBytes, start, length);
 		CharBuffer destBuffer = charset.decode(srcBuffer);
 		char[] dst = destBuffer.array();
@@ -518,6 +525,20 @@ public class Util implements SuffixConstants {
 		return dst;
 	}
 
+	/** @return the chars of the given bytes if they are all ASCII, null otherwise **/
+	private static char[] decodeAscii(byte[] srcBytes, int start, int length) {
+		int end = start + length;
+		for (int i = start; i < end; i++) {
+			if (srcBytes[i] < 0)
+				return null;
+		}
+		char[] dst = new char[length];
+		for (int i = 0; i < length; i++) {
+			dst[i] = (char) srcBytes[start + i];
+		}
+		return dst;
+	}
+
 	private static boolean startsWith(byte[] a, byte[] start) {
 		if (a.length < start.length) {
 			return false;
@@ -958,6 +979,15 @@ public class Util implements SuffixConstants {
 			throw e;
 		}
 	}
+
+	/**
+	 * Same as {@link #writeToDisk(boolean, String, String, ClassFile)}, for the given class file contents.
+	 */
+	public static void writeToDisk(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) throws IOException {
+		try (FileOutputStream output = getFileOutputStream(generatePackagesStructure, outputPath, relativeFileName)) {
+			output.write(bytes);
+		}
+	}
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public static void recordNestedType(ClassFile classFile, TypeBinding typeBinding) {
 		if (classFile.visitedTypes == null) {
@@ -412,4 +412,273 @@ public class EfficiencyTests extends BuilderTests {
 		expectingCompilingOrder(
 				new String[] { "/Project/src/p2/Z.java", "/Project/src/p2/Y.java", "/Project/src/p1/X.java" });
 	}
+
+	// the dependents of a change are found by an index of the references, which is carried over from build to build
+	public void testDependentsAfterReferencesChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void bar(p1.X x) { x.foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public void foo2() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// Z now references X, Y does not any more
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void bar(p1.X x) { x.foo2(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p2.Y", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo2() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+	}
+
+	// a removed file is no longer a dependent of the types it referenced
+	public void testDependentsAfterRemovedFile() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void bar(p1.X x) { x.foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void bar(p1.X x) { x.foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public void foo2() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		env.removeClass(env.getPackagePath(root, "p2"), "Y"); //$NON-NLS-1$ //$NON-NLS-2$
+		incrementalBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// a file added again takes the last position
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void bar(p1.X x) { x.foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p2.Y"}); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public void foo2() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompilingOrder(
+				new String[] { "/Project/src/p1/X.java", "/Project/src/p2/Z.java", "/Project/src/p2/Y.java" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		expectingNoProblems();
+	}
+
+	public void testDependentsOfPrivateMemberChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() { helper(); }\n" + //$NON-NLS-1$
+			"	private void helper() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void bar(p1.X x) { x.foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z extends p1.X {\n"+ //$NON-NLS-1$
+			"	void bar() { helper(0); }\n" + //$NON-NLS-1$
+			"	void helper(int i) {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		// a new private member is not used by another type
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() { helper(); }\n" + //$NON-NLS-1$
+			"	private void helper() { count++; }\n" + //$NON-NLS-1$
+			"	private int count;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X"}); //$NON-NLS-1$
+
+		// Z looks up a method with the name of the changed private method
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() { helper(1); }\n" + //$NON-NLS-1$
+			"	private void helper(int i) { count += i; }\n" + //$NON-NLS-1$
+			"	private int count;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// other structural changes affect all the dependents
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() { helper(1); }\n" + //$NON-NLS-1$
+			"	private void helper(int i) { count += i; }\n" + //$NON-NLS-1$
+			"	protected int count;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		expectingNoProblems();
+	}
+
+	// the close method of a resource is looked up on its type directly, not through a scope
+	public void testDependentsOfPrivateMemberChangeThroughBindingLookup() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X implements AutoCloseable {\n"+ //$NON-NLS-1$
+			"	public void close() { close(0); }\n" + //$NON-NLS-1$
+			"	private void close(int i) {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	p1.X x = new p1.X();\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void bar() {\n" + //$NON-NLS-1$
+			"		try (p1.X x = new p1.X()) {}\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X implements AutoCloseable {\n"+ //$NON-NLS-1$
+			"	public void close() { close(0L); }\n" + //$NON-NLS-1$
+			"	private void close(long l) {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+	}
 }
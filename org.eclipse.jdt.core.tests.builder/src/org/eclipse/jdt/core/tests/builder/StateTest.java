@@ -148,6 +148,52 @@ public class StateTest extends BuilderTests {
 
 		writeReadAndCompareTestBinaryLocations(project);
 	}
+
+	public void testWriteReadStateWithoutReferences() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Unreferenced"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "WithOther", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"import java.util.List;\n" +
+			"class Other {\n" +
+			"	List<String> names;\n" +
+			"}\n" +
+			"public class WithOther {\n" +
+			"	Other other;\n" +
+			"}" //$NON-NLS-1$
+		);
+		env.addClass(projectPath, "b", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package b;\n" +
+			"public class B extends a.WithOther {\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(project);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		State savedState = (State) info.savedState;
+		JavaBuilder.writeState(savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+
+		// the references of a read state are not decoded to write it back
+		State readState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(bytes)));
+		outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(readState, new DataOutputStream(outputStream));
+		assertArrayEquals(bytes, outputStream.toByteArray());
+
+		// nor to answer its type locators
+		assertEqualTypeLocators(savedState.typeLocators, readState.typeLocators);
+		assertEqualLookupTables(savedState.getReferences(), readState.getReferences());
+
+		// once decoded, the references are written the same way
+		outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(readState, new DataOutputStream(outputStream));
+		assertArrayEquals(bytes, outputStream.toByteArray());
+		assertEquals(readState, savedState);
+	}
+
 	public void testSelfAnnotatedJars() throws CoreException, IOException {
 		// derived from the same named test in ExternalAnnotation18Test:
 		IPath projectPath = env.addProject("PrjTest", "1.8"); //$NON-NLS-1$
@@ -17,8 +17,19 @@ import java.util.Hashtable;
 import java.util.Map;
 
 import org.eclipse.jdt.core.tests.compiler.regression.AbstractRegressionTest;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.parser.ParserPool;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class ParserTest extends AbstractRegressionTest {
@@ -824,4 +835,67 @@ public void testBug485477() {
 		"Syntax error, insert \". Identifier\" to complete Expression\n" +
 		"----------\n");
 }
+public void testReleaseUnits() {
+	CompilerOptions options = new CompilerOptions(getCompilerOptions());
+	ProblemReporter reporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory());
+	ParserPool<Parser> pool = new ParserPool<>();
+	Parser parser = pool.acquire("key", () -> new Parser(reporter, false));
+	ICompilationUnit unit = new CompilationUnit("class X { Runnable r = X::new; }".toCharArray(), "X.java", null);
+	CompilationUnitDeclaration declaration = parser.parse(unit, new CompilationResult(unit, 0, 1, 10));
+	assertFalse(declaration.hasErrors());
+	Scanner scanner = parser.scanner;
+	pool.release("key", parser);
+	assertNull("Should not retain the source", scanner.source);
+	assertNotSame("Should renew the scanner kept by the method reference", scanner, parser.scanner);
+	assertSame("Should reuse the parser", parser, pool.acquire("key", () -> new Parser(reporter, false)));
+	assertNotSame("Should not reuse the parser while in use", parser, pool.acquire("key", () -> new Parser(reporter, false)));
+	pool.release("key", parser);
+	assertNotSame("Should not reuse the parser of another key", parser, pool.acquire("other", () -> new Parser(reporter, false)));
+
+	unit = new CompilationUnit("class Y { int i; }".toCharArray(), "Y.java", null);
+	declaration = parser.parse(unit, new CompilationResult(unit, 0, 1, 10));
+	assertEquals("Y", String.valueOf(declaration.types[0].name));
+	scanner = parser.scanner;
+	parser.releaseUnits();
+	assertSame("Should keep the scanner", scanner, parser.scanner);
+	assertNull("Should not retain the source", scanner.source);
+}
+public void testJumpOverBody() {
+	CompilerOptions options = new CompilerOptions(getCompilerOptions());
+	ProblemReporter reporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory());
+	String source =
+		"class X {\n" +
+		"	void a() { String s = \"}{\"; char c = '}'; /* } */ // }\n" +
+		"	}\n" +
+		"	void b() { int i = 0x7d; \\u007d\n" +
+		"	void c() { assert i > 0; }\n" +
+		"	int i;\n" +
+		"}\n";
+	ICompilationUnit unit = new CompilationUnit(source.toCharArray(), "X.java", null);
+	CompilationUnitDeclaration declaration = new Parser(reporter, false).dietParse(unit, new CompilationResult(unit, 0, 1, 10));
+	assertFalse(declaration.hasErrors());
+	AbstractMethodDeclaration[] methods = declaration.types[0].methods;
+	assertEquals("Should record the assert keyword (<clinit>)", 5, methods.length);
+	assertEquals("a", String.valueOf(methods[2].selector));
+	assertEquals(source.indexOf("\t}\n") + 1, methods[2].declarationSourceEnd);
+	assertEquals("b", String.valueOf(methods[3].selector));
+	assertEquals(source.indexOf("\\u007d") + 5, methods[3].declarationSourceEnd);
+	assertEquals("c", String.valueOf(methods[4].selector));
+	assertEquals(source.indexOf("; }") + 2, methods[4].declarationSourceEnd);
+	assertEquals("i", String.valueOf(declaration.types[0].fields[0].name));
+}
+public void testJumpOverBodyEscapedAssert() {
+	CompilerOptions options = new CompilerOptions(getCompilerOptions());
+	ProblemReporter reporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory());
+	String[] spellings = { "\\u0061ssert", "ass\\u0065rt", "asser\\u0074", "assert\\u0073", "\\u0061sser" };
+	for (int i = 0; i < spellings.length; i++) {
+		String source =
+			"class X {\n" +
+			"	void c(int i) { " + spellings[i] + " i > 0; }\n" +
+			"}\n";
+		ICompilationUnit unit = new CompilationUnit(source.toCharArray(), "X.java", null);
+		CompilationUnitDeclaration declaration = new Parser(reporter, false).dietParse(unit, new CompilationResult(unit, 0, 1, 10));
+		assertEquals("Should record the assert keyword (<clinit>) of " + spellings[i], i < 3 ? 3 : 2, declaration.types[0].methods.length);
+	}
+}
 }
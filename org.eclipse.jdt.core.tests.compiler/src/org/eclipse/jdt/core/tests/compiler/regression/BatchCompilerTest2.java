@@ -15,9 +15,17 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.zip.ZipFile;
 
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.ProcessTaskManager;
+import org.eclipse.jdt.internal.compiler.batch.CompileServer;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 
 import junit.framework.Test;
@@ -468,4 +476,300 @@ public void testIssue147() throws Exception {
 	String expectedOutput = "java.lang.invoke.MethodHandle.invoke(java.lang.Object)";
 	checkDisassembledClassFile(OUTPUT_DIR + File.separator + "X.class", "X", expectedOutput);
 }
+// method bodies parsed ahead on worker threads must report the same problems, in the same order
+public void testParseAheadThreads() {
+	String setting = System.getProperty("jdt.compiler.parseAheadThreads");
+	try {
+		System.setProperty("jdt.compiler.parseAheadThreads", "2");
+		this.runNegativeTest(
+			new String[] {
+				"X.java",
+				"import java.util.function.Function;\n" +
+				"public class X {\n" +
+				"	Function<Object, String> f = String::valueOf;\n" +
+				"	void foo() {\n" +
+				"		new Y().bar(;\n" +
+				"	}\n" +
+				"}\n",
+				"Y.java",
+				"public class Y {\n" +
+				"	void bar() {\n" +
+				"		int i = 0\n" +
+				"	}\n" +
+				"}\n",
+				"Z.java",
+				"public class Z {\n" +
+				"	Runnable r = () -> System.out.println(new X().f.apply(this));\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\"" +
+			" \"" + OUTPUT_DIR +  File.separator + "Y.java\"" +
+			" \"" + OUTPUT_DIR +  File.separator + "Z.java\"" +
+			" -1.8 -d none",
+			"",
+			"----------\n" +
+			"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 5)\n" +
+			"	new Y().bar(;\n" +
+			"	           ^\n" +
+			"Syntax error, insert \")\" to complete Expression\n" +
+			"----------\n" +
+			"----------\n" +
+			"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Y.java (at line 3)\n" +
+			"	int i = 0\n" +
+			"	        ^\n" +
+			"Syntax error, insert \";\" to complete BlockStatements\n" +
+			"----------\n" +
+			"2 problems (2 errors)\n",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.parseAheadThreads");
+		else
+			System.setProperty("jdt.compiler.parseAheadThreads", setting);
+	}
+}
+// units handed off by the processing thread through a full queue must report their problems in order
+public void testProcessingQueueOrder() {
+	String setting = System.getProperty("jdt.compiler.useSingleThread");
+	try {
+		System.setProperty("jdt.compiler.useSingleThread", "false");
+		int unitCount = ProcessTaskManager.PROCESSED_QUEUE_SIZE + 50;
+		String[] testFiles = new String[unitCount * 2];
+		StringBuilder commandLine = new StringBuilder();
+		StringBuilder expectedErr = new StringBuilder();
+		int problemCount = 0;
+		for (int i = 0; i < unitCount; i++) {
+			String typeName = "X" + (1000 + i);
+			testFiles[i * 2] = typeName + ".java";
+			testFiles[i * 2 + 1] =
+				"public class " + typeName + " {\n" +
+				(i % 3 == 0 ? "	String s = " + i + ";\n" : "	String s = \"" + i + "\";\n") +
+				"}\n";
+			commandLine.append(" \"").append(OUTPUT_DIR).append(File.separator).append(typeName).append(".java\"");
+			if (i % 3 == 0) {
+				String value = String.valueOf(i);
+				expectedErr.append(
+					"----------\n" +
+					++problemCount + ". ERROR in ---OUTPUT_DIR_PLACEHOLDER---/" + typeName + ".java (at line 2)\n" +
+					"	String s = " + value + ";\n" +
+					"	           " + "^".repeat(value.length()) + "\n" +
+					"Type mismatch: cannot convert from int to String\n" +
+					"----------\n");
+			}
+		}
+		expectedErr.append(problemCount + " problems (" + problemCount + " errors)\n");
+		commandLine.append(" -1.8 -d none");
+		this.runNegativeTest(
+			testFiles,
+			commandLine.toString(),
+			"",
+			expectedErr.toString(),
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.useSingleThread");
+		else
+			System.setProperty("jdt.compiler.useSingleThread", setting);
+	}
+}
+// class files written in the background into an archive
+public void testWriteThreadsArchive() throws IOException {
+	String setting = System.getProperty("jdt.compiler.writeThreads");
+	String archivePath = OUTPUT_DIR + File.separator + "out" + File.separator + "classes.jar";
+	try {
+		System.setProperty("jdt.compiler.writeThreads", "2");
+		this.runConformTest(
+			new String[] {
+				"p/X.java",
+				"package p;\n" +
+				"public class X {\n" +
+				"	class Inner {}\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\"" +
+			" -1.8 -d \"" + archivePath + "\"",
+			"",
+			"",
+			true);
+		try (ZipFile zipFile = new ZipFile(archivePath)) {
+			assertNotNull("Missing p/X.class", zipFile.getEntry("p/X.class"));
+			assertNotNull("Missing p/X$Inner.class", zipFile.getEntry("p/X$Inner.class"));
+		}
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.writeThreads");
+		else
+			System.setProperty("jdt.compiler.writeThreads", setting);
+	}
+}
+// a -d ending with .jar is an archive whether or not the class files are written in the background
+public void testArchiveDestination() throws IOException {
+	String archivePath = OUTPUT_DIR + File.separator + "out" + File.separator + "classes.jar";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	class Inner {}\n" +
+			"}\n"
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\"" +
+		" -1.8 -d \"" + archivePath + "\"",
+		"",
+		"",
+		true);
+	assertTrue("Not an archive", new File(archivePath).isFile());
+	try (ZipFile zipFile = new ZipFile(archivePath)) {
+		assertNotNull("Missing p/X.class", zipFile.getEntry("p/X.class"));
+		assertNotNull("Missing p/X$Inner.class", zipFile.getEntry("p/X$Inner.class"));
+	}
+}
+// statistics exported as JSON
+public void testStatsJSON() throws IOException {
+	String statsPath = OUTPUT_DIR + File.separator + "stats.json";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"import java.util.List;\n" +
+			"public class X {\n" +
+			"	List<String> list = List.of(\"a\");\n" +
+			"}\n"
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\"" +
+		" -1.8 -d none -Xstats:json=\"" + statsPath + "\"",
+		"",
+		"",
+		true);
+	String stats = Util.fileContent(statsPath);
+	assertTrue("Missing line count: " + stats, stats.contains("\"lineCount\": 4,"));
+	assertTrue("Missing problem count: " + stats, stats.contains("\"problemCount\": 0,"));
+	assertTrue("Missing slowest unit: " + stats, stats.contains("X.java\", \"time\": "));
+}
+// compilations requested to a compile server
+public void testCompileServer() throws Exception {
+	Util.writeToFile(
+		"public class X {\n" +
+		"}\n",
+		OUTPUT_DIR + File.separator + "X.java");
+	Path socketPath = Path.of(OUTPUT_DIR, "ecj.socket");
+	Thread server = new Thread(() -> {
+		try {
+			new CompileServer(socketPath).serve();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	});
+	server.start();
+	try {
+		for (int i = 0; i < 50 && !socketPath.toFile().exists(); i++) {
+			Thread.sleep(100);
+		}
+		if (Files.getFileAttributeView(socketPath, PosixFileAttributeView.class) != null)
+			assertEquals("Socket should only be accessible to its owner", "rw-------",
+					PosixFilePermissions.toString(Files.getPosixFilePermissions(socketPath)));
+		String outputPath = OUTPUT_DIR + File.separator + "out";
+		String[] arguments = { OUTPUT_DIR + File.separator + "X.java", "-1.8", "-d", outputPath };
+		assertTrue("First compilation failed", CompileServer.request(socketPath, arguments));
+		assertTrue("Missing X.class", new File(outputPath, "X.class").exists());
+		// second compilation with the warm server
+		Util.writeToFile(
+			"public class X {\n" +
+			"	int i = \"\";\n" +
+			"}\n",
+			OUTPUT_DIR + File.separator + "X.java");
+		assertFalse("Second compilation should fail", CompileServer.request(socketPath, arguments));
+	} finally {
+		CompileServer.request(socketPath, new String[] { "-stop" });
+		server.join(10000);
+	}
+}
+// jar indexes are computed again when the jar changes
+public void testJarIndexInvalidation() throws IOException {
+	String libPath = Util.getOutputDirectory() + File.separator + "jarIndex" + File.separator + "lib.jar";
+	try {
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"}\n"
+			},
+			libPath,
+			JavaCore.VERSION_1_8);
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	p.A a;\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\"" +
+			" -1.8 -d none -cp \"" + libPath + "\"",
+			"",
+			"",
+			true);
+		Util.createJar(
+			new String[] {
+				"q/LongerName.java",
+				"package q;\n" +
+				"public class LongerName {\n" +
+				"}\n"
+			},
+			libPath,
+			JavaCore.VERSION_1_8);
+		this.runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	p.A a;\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\"" +
+			" -1.8 -d none -cp \"" + libPath + "\"",
+			"",
+			"----------\n" +
+			"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 2)\n" +
+			"	p.A a;\n" +
+			"	^\n" +
+			"p cannot be resolved to a type\n" +
+			"----------\n" +
+			"1 problem (1 error)\n",
+			true);
+	} finally {
+		Util.delete(new File(libPath).getParentFile());
+	}
+}
+// decoded class files reused by subsequent compilations
+public void testBinaryTypeCache() throws IOException {
+	String libPath = Util.getOutputDirectory() + File.separator + "binaryTypeCache" + File.separator + "lib.jar";
+	try {
+		BinaryTypeCache.setMaximumSize(1024 * 1024);
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	public String s;\n" +
+				"}\n"
+			},
+			libPath,
+			JavaCore.VERSION_1_8);
+		String[] files = new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	int length(p.A a) { return a.s.length(); }\n" +
+			"}\n"
+		};
+		String commandLine = "\"" + OUTPUT_DIR +  File.separator + "X.java\"" +
+			" -1.8 -d none -cp \"" + libPath + "\"";
+		this.runConformTest(files, commandLine, "", "", true);
+		long hitCount = BinaryTypeCache.getHitCount();
+		this.runConformTest(files, commandLine, "", "", true);
+		assertTrue("Class files should be reused", BinaryTypeCache.getHitCount() > hitCount);
+	} finally {
+		BinaryTypeCache.setMaximumSize(0);
+		BinaryTypeCache.clear();
+		Util.delete(new File(libPath).getParentFile());
+	}
+}
 }
@@ -16,6 +16,7 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 import junit.framework.Test;
 import java.io.*;
 
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
@@ -97,6 +98,17 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 		}
 	}
 
+	private String privateMemberChanges(String classFile1, String classFile2) {
+		try {
+			ClassFileReader reader = ClassFileReader.read(EVAL_DIRECTORY + File.separator + classFile1 + ".class");
+			byte[] classFileBytes = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(EVAL_DIRECTORY + File.separator + classFile2 + ".class"));
+			char[][] names = reader.getPrivateMemberChanges(classFileBytes);
+			return names == null ? "null" : new String(CharOperation.concatWith(names, ','));
+		} catch(IOException | ClassFormatException e) {
+			return e.toString();
+		}
+	}
+
 	public void test001() {
 		try {
 			String sourceA001 =
@@ -450,4 +462,67 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 			removeTempClass("A016");
 		}
 	}
+
+	public void test017() {
+		try {
+			String sourceA017 =
+				"public class A017 {\n" +
+				"  private int count;\n" +
+				"  public int foo() {\n" +
+				"    return bar();\n" +
+				"  }\n" +
+				"  private int bar() {\n" +
+				"    return count;\n" +
+				"  }\n" +
+				"}";
+			compileAndDeploy(sourceA017, "A017");
+			String sourceA017_2 =
+				"public class A017_2 {\n" +
+				"  private long count;\n" +
+				"  private int size;\n" +
+				"  public int foo() {\n" +
+				"    return bar();\n" +
+				"  }\n" +
+				"  private int bar() {\n" +
+				"    return (int) count + size;\n" +
+				"  }\n" +
+				"}";
+			compileAndDeploy(sourceA017_2, "A017_2");
+			assertTrue(areStructurallyDifferent("A017", "A017_2", true, true));
+			assertEquals("count,size", privateMemberChanges("A017", "A017_2"));
+			assertEquals("", privateMemberChanges("A017", "A017"));
+		} finally {
+			removeTempClass("A017");
+		}
+	}
+
+	public void test018() {
+		try {
+			String sourceA018 =
+				"public class A018 {\n" +
+				"  private int count;\n" +
+				"  private A018() {\n" +
+				"  }\n" +
+				"}";
+			compileAndDeploy(sourceA018, "A018");
+			String sourceA018_2 =
+				"public class A018_2 {\n" +
+				"  protected int count;\n" +
+				"  private A018_2() {\n" +
+				"  }\n" +
+				"}";
+			compileAndDeploy(sourceA018_2, "A018_2");
+			String sourceA018_3 =
+				"public class A018_3 {\n" +
+				"  private int count;\n" +
+				"  private A018_3(int i) {\n" +
+				"  }\n" +
+				"}";
+			compileAndDeploy(sourceA018_3, "A018_3");
+			assertEquals("null", privateMemberChanges("A018", "A018_2"));
+			assertEquals("null", privateMemberChanges("A018", "A018_3"));
+		} finally {
+			removeTempClass("A018");
+		}
+	}
 }
@@ -12,12 +12,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.compiler.regression;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 import junit.framework.Test;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
 import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
 import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
+import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 
 @SuppressWarnings({ "rawtypes" })
 public class ClassFileReaderTest_17 extends AbstractRegressionTest {
@@ -172,4 +179,77 @@ public class ClassFileReaderTest_17 extends AbstractRegressionTest {
 		String descriptor = new String(method.getMethodDescriptor());
 		assertTrue("invalid descriptor", "(LHasValue$ValueChangeEvent;)V".equals(descriptor));
 	}
+	// members are decoded on demand, the class attributes following them are still read
+	public void testMembersDecodedOnDemand() throws Exception {
+		String source =
+				"public class X {\n" +
+				"	@Deprecated int f1;\n" +
+				"	java.util.List<String> f2;\n" +
+				"	@Deprecated void m1() { int i = 0; i++; }\n" +
+				"	<T> T m2(T t) throws Exception { return t; }\n" +
+				"	class Inner {}\n" +
+				"}";
+
+		org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader classFileReader = getInternalClassFile("", "X", "X", source);
+		assertEquals("X.java", new String(classFileReader.sourceFileName()));
+		assertEquals(1, classFileReader.getMemberTypes().length);
+		IBinaryField[] fields = classFileReader.getFields();
+		assertEquals(2, fields.length);
+		assertSame(fields, classFileReader.getFields());
+		assertEquals("f1", new String(fields[0].getName()));
+		assertTrue("f1 should be deprecated", (fields[0].getTagBits() & TagBits.AnnotationDeprecated) != 0);
+		assertEquals("Ljava/util/List<Ljava/lang/String;>;", new String(fields[1].getGenericSignature()));
+		IBinaryMethod[] methods = classFileReader.getMethods();
+		assertEquals(3, methods.length);
+		assertEquals("m1", new String(methods[1].getSelector()));
+		assertTrue("m1 should be deprecated", (methods[1].getTagBits() & TagBits.AnnotationDeprecated) != 0);
+		assertEquals("<T:Ljava/lang/Object;>(TT;)TT;", new String(methods[2].getGenericSignature()));
+		assertEquals(1, methods[2].getExceptionTypeNames().length);
+	}
+	// members decoded on demand are still checked when the class file is read
+	public void testMalformedMembers() throws Exception {
+		new org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader(classFileWithField(6, 0), "X.class".toCharArray()).getFields(); // well formed
+		try {
+			new org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader(classFileWithField(99, 0), "X.class".toCharArray());
+			fail("Invalid attribute name index should be rejected");
+		} catch (ClassFormatException e) {
+			assertEquals(ClassFormatException.ErrBadFieldInfo, e.getErrorCode());
+		}
+		try {
+			new org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader(classFileWithField(6, 1000), "X.class".toCharArray());
+			fail("Truncated attribute should be rejected");
+		} catch (ClassFormatException e) {
+			assertEquals(ClassFormatException.ErrTruncatedInput, e.getErrorCode());
+		}
+	}
+	// class X with a field "f" of type int, having one attribute
+	private static byte[] classFileWithField(int attributeNameIndex, int attributeLength) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(0xCAFEBABE);
+		output.writeShort(0); // minor version
+		output.writeShort(52); // major version
+		output.writeShort(7); // constant pool count
+		output.writeByte(ClassFileConstants.Utf8Tag); output.writeUTF("X"); // #1
+		output.writeByte(ClassFileConstants.ClassTag); output.writeShort(1); // #2
+		output.writeByte(ClassFileConstants.Utf8Tag); output.writeUTF("java/lang/Object"); // #3
+		output.writeByte(ClassFileConstants.ClassTag); output.writeShort(3); // #4
+		output.writeByte(ClassFileConstants.Utf8Tag); output.writeUTF("f"); // #5
+		output.writeByte(ClassFileConstants.Utf8Tag); output.writeUTF("I"); // #6
+		output.writeShort(ClassFileConstants.AccPublic | ClassFileConstants.AccSuper);
+		output.writeShort(2); // this class
+		output.writeShort(4); // super class
+		output.writeShort(0); // interfaces
+		output.writeShort(1); // fields
+		output.writeShort(0); // access flags
+		output.writeShort(5); // name
+		output.writeShort(6); // descriptor
+		output.writeShort(1); // attributes
+		output.writeShort(attributeNameIndex);
+		output.writeInt(attributeLength);
+		output.writeShort(0); // methods
+		output.writeShort(0); // attributes
+		output.flush();
+		return bytes.toByteArray();
+	}
 }
@@ -10952,4 +10952,85 @@ public void testBug508834_comment0() {
 			"The method bar(One<Inner<?>>) in the type Bug is not applicable for the arguments (One<Inner<X>>)\n" +
 			"----------\n");
 	}
+	// identical invocations in a vanilla context share the outcome of their inference
+	public void testIdenticalInvocations() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"""
+				import java.util.*;
+				public class X {
+					static <T> List<T> listOf(T t) { List<T> l = new ArrayList<>(); l.add(t); return l; }
+					static <T extends Comparable<T>> T max(T a, T b) { return a.compareTo(b) >= 0 ? a : b; }
+					public static void main(String[] args) {
+						listOf("a").add("b");
+						listOf("a").add("c");
+						listOf(1).add(2);
+						List<?> wildcard = listOf("x");
+						listOf(wildcard).get(0).size();
+						listOf(wildcard).get(0).size();
+						max("a", "b").length();
+						max(1, 2).intValue();
+						System.out.println(listOf("a").get(0).length() + listOf(1).get(0).intValue() + max("a", "b").length());
+					}
+				}
+				"""
+			},
+			"3");
+	}
+	public void testIdenticalInvocations_notApplicable() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"""
+				public class X {
+					static <T extends Comparable<T>> T max(T a, T b) { return a.compareTo(b) >= 0 ? a : b; }
+					void test() {
+						max("a", "b").length();
+						max(new Object(), new Object()).hashCode();
+						max("a", "b").length();
+						max(new Object(), new Object()).hashCode();
+					}
+				}
+				"""
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 5)\n" +
+			"	max(new Object(), new Object()).hashCode();\n" +
+			"	^^^\n" +
+			"The method max(T, T) in the type X is not applicable for the arguments (Object, Object)\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 7)\n" +
+			"	max(new Object(), new Object()).hashCode();\n" +
+			"	^^^\n" +
+			"The method max(T, T) in the type X is not applicable for the arguments (Object, Object)\n" +
+			"----------\n");
+	}
+	// bound sets copied for the lambdas nested in each invocation share their bounds until they are modified
+	public void testNestedGenericLambdas() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"""
+				import java.util.*;
+				import java.util.function.*;
+				import java.util.stream.*;
+				public class X {
+					static <T, R> R apply(T t, Function<? super T, ? extends R> f) { return f.apply(t); }
+					static <T, U, R> R combine(T t, U u, BiFunction<? super T, ? super U, ? extends R> f) { return f.apply(t, u); }
+					static <T> Supplier<T> lazy(Supplier<? extends T> s) { return () -> s.get(); }
+					public static void main(String[] args) {
+						Map<String, List<Integer>> map = Stream.of(" ab ", "c", "", "de")
+							.<String>map(s -> apply(s, x -> combine(x, x.length(), (a, b) -> apply(a + b, y -> y.trim()))))
+							.filter(s -> X.<Boolean>lazy(() -> apply(s, x -> !x.isEmpty())).get())
+							.collect(Collectors.groupingBy((String s) -> apply(s, x -> x.substring(0, 1)),
+								TreeMap::new,
+								Collectors.mapping((String s) -> combine(s, 10, (a, b) -> apply(a.length(), n -> n + b)), Collectors.toList())));
+						System.out.println(map);
+					}
+				}
+				"""
+			},
+			"{0=[11], a=[14], c=[12], d=[13]}");
+	}
 }
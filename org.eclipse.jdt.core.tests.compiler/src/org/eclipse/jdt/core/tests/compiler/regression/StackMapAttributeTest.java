@@ -8959,4 +8959,49 @@ public class StackMapAttributeTest extends AbstractRegressionTest {
 			},
 			"pkg.Derived2");
 	}
+	/**
+	 * Methods with thousands of branches and many locals: frames of the jump targets share their
+	 * verification type infos, which must not leak merged stack items or constructed objects from one
+	 * frame to another.
+	 */
+	public void testManyBranches() {
+		StringBuilder source = new StringBuilder();
+		source.append(
+			"public class X {\n" +
+			"	static class P {\n" +
+			"		final Object value;\n" +
+			"		P(Object value) { this.value = value; }\n" +
+			"	}\n" +
+			"	static int sw(int x) {\n");
+		for (int i = 0; i < 20; i++)
+			source.append("		int v" + i + " = x + " + i + ";\n");
+		source.append(
+			"		int a = 0;\n" +
+			"		switch (x) {\n");
+		for (int i = 0; i < 2000; i++)
+			source.append("			case " + i + ": a += v" + (i % 20) + "; break;\n");
+		source.append(
+			"		}\n" +
+			"		return a;\n" +
+			"	}\n" +
+			"	static Object ifs(int x) {\n");
+		for (int i = 0; i < 20; i++)
+			source.append("		long w" + i + " = x + " + i + ";\n");
+		source.append("		Object o = null;\n");
+		for (int i = 0; i < 1000; i++)
+			source.append("		if (x == " + i + ") o = new P(x > " + i + " ? (Object) Long.valueOf(w" + (i % 20) + ") : \"" + i + "\"); else o = x < 0 ? Integer.valueOf(" + i + ") : o;\n");
+		source.append(
+			"		return o;\n" +
+			"	}\n" +
+			"	public static void main(String[] args) {\n" +
+			"		System.out.println(sw(30) + \" \" + sw(1999) + \" \" + ((P) ifs(7)).value + \" \" + ifs(-1) + \" \" + ifs(5000));\n" +
+			"	}\n" +
+			"}\n");
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				source.toString()
+			},
+			"40 2018 7 999 null");
+	}
 }
@@ -42,6 +42,7 @@ public class AllPerformanceTests extends junit.framework.TestCase {
 			FullSourceWorkspaceModelTests.class,
 			FullSourceWorkspaceCompletionTests.class,
 			FullSourceWorkspaceFormatterTests.class,
+			FullSourceWorkspaceScannerTests.class,
 			RegionPerformanceTests.class,
 			PTBKeyHashCalculationTest.class
 		};
@@ -13,11 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.performance;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
@@ -25,16 +32,20 @@ import java.util.List;
 import junit.framework.Test;
 
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
@@ -52,6 +63,10 @@ import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.util.Util;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
+import org.eclipse.jdt.internal.core.builder.JavaBuilder;
+import org.eclipse.jdt.internal.core.builder.State;
 
 /**
  * Class to test compiler performance.
@@ -143,7 +158,7 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 	 * @param javaProject Project which must be (full) build or null if all workspace has to be built.
 	 * @param options Options used while building
 	 */
-	void build(final IJavaProject javaProject, Hashtable options, boolean noWarning) throws IOException, CoreException {
+	int build(final IJavaProject javaProject, Hashtable options, boolean noWarning) throws IOException, CoreException {
 		if (DEBUG) System.out.print("\tstart build...");
 		JavaCore.setOptions(options);
 		if (PRINT) System.out.println("JavaCore options: "+options);
@@ -238,6 +253,7 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		}
 		this.scenarioComment.append("warn=");
 		this.scenarioComment.append(warnings);
+		return warnings;
 	}
 
 	/*
@@ -703,6 +719,55 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		compile(JavaCore.PLUGIN_ID, "", null, false/*no log*/, JDT_CORE_SRC_PATHS);
 	}
 
+	/**
+	 * Compile JDT/Core project with default warnings, parsing method bodies ahead on 1 thread
+	 */
+	public void testCompileJDTCoreProjectParseAhead1() throws IOException, CoreException {
+		compileParseAhead(1);
+	}
+
+	/**
+	 * Compile JDT/Core project with default warnings, parsing method bodies ahead on 2 threads
+	 */
+	public void testCompileJDTCoreProjectParseAhead2() throws IOException, CoreException {
+		compileParseAhead(2);
+	}
+
+	/**
+	 * Compile JDT/Core project with default warnings, parsing method bodies ahead on 4 threads
+	 */
+	public void testCompileJDTCoreProjectParseAhead() throws IOException, CoreException {
+		compileParseAhead(4);
+	}
+
+	/**
+	 * Compile JDT/Core project with default warnings, parsing method bodies ahead on 8 threads
+	 */
+	public void testCompileJDTCoreProjectParseAhead8() throws IOException, CoreException {
+		compileParseAhead(8);
+	}
+
+	/**
+	 * Compile JDT/Core project with default warnings, parsing method bodies ahead on 16 threads
+	 */
+	public void testCompileJDTCoreProjectParseAhead16() throws IOException, CoreException {
+		compileParseAhead(16);
+	}
+
+	private void compileParseAhead(int threadCount) throws IOException, CoreException {
+		tagAsSummary("Compile JDT/Core with cmd line (parse ahead on " + threadCount + " threads)", false); // do NOT put in fingerprint
+		String setting = System.getProperty("jdt.compiler.parseAheadThreads");
+		try {
+			System.setProperty("jdt.compiler.parseAheadThreads", String.valueOf(threadCount));
+			compile(JavaCore.PLUGIN_ID, "", null, false/*no log*/, JDT_CORE_SRC_PATHS);
+		} finally {
+			if (setting == null)
+				System.clearProperty("jdt.compiler.parseAheadThreads");
+			else
+				System.setProperty("jdt.compiler.parseAheadThreads", setting);
+		}
+	}
+
 	/**
 	 * Compile JDT/Core project with default javadoc warnings
 	 */
@@ -767,4 +832,375 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		tagAsSummary("Build with Generic Types ", false); // do NOT put in fingerprint
 		compile("GenericsTest.java", 12_629_541, "", "1.8", false /*no log*/ );
 	}
+	/**
+	 * Build generated sources made of long stream pipelines and of fluent assertions, for which
+	 * the type inference of many invocations of generic methods is the same.
+	 */
+	public void testBuildFluentInvocations() throws IOException {
+		tagAsSummary("Build with fluent invocations ", false); // do NOT put in fingerprint
+		final String targetWorkspacePath = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile().getCanonicalPath();
+		File file = new File(System.getProperty("java.io.tmpdir"), "FluentInvocations.java");
+		StringBuilder source = new StringBuilder();
+		source.append(
+			"import java.util.*;\n" +
+			"import java.util.function.*;\n" +
+			"import java.util.stream.*;\n" +
+			"public class FluentInvocations {\n" +
+			"	static class Assert<T> {\n" +
+			"		final T actual;\n" +
+			"		Assert(T actual) { this.actual = actual; }\n" +
+			"		static <T> Assert<T> assertThat(T actual) { return new Assert<>(actual); }\n" +
+			"		Assert<T> isNotNull() { return this; }\n" +
+			"		Assert<T> isEqualTo(Object expected) { return this; }\n" +
+			"		<R> Assert<R> extracting(Function<? super T, ? extends R> extractor) { return new Assert<>(extractor.apply(this.actual)); }\n" +
+			"	}\n" +
+			"	static <K, V> Map<K, V> mapOf(K key, V value) { return Collections.singletonMap(key, value); }\n");
+		for (int i = 0; i < 1000; i++) {
+			source.append(
+				"	void test" + i + "(List<String> list) {\n" +
+				"		List<Integer> lengths = list.stream().filter(s -> !s.isEmpty()).map(String::trim).map(String::length).map(l -> l * " + i + ").sorted().distinct().collect(Collectors.toList());\n" +
+				"		Map<Integer, List<String>> byLength = list.stream().collect(Collectors.groupingBy(String::length));\n" +
+				"		String joined = list.stream().map(s -> s + " + i + ").reduce(\"\", (a, b) -> a + b);\n" +
+				"		Assert.assertThat(lengths).isNotNull().isEqualTo(byLength).extracting(List::size).isEqualTo(" + i + ");\n" +
+				"		Assert.assertThat(joined).isNotNull().isEqualTo(\"" + i + "\");\n" +
+				"		Assert.assertThat(mapOf(\"" + i + "\", lengths)).isNotNull();\n" +
+				"		Assert.assertThat(Optional.of(joined).map(String::length).orElse(0)).isEqualTo(" + i + ");\n" +
+				"	}\n");
+		}
+		source.append("}\n");
+		org.eclipse.jdt.core.tests.util.Util.writeToFile(source.toString(), file.getAbsolutePath());
+		compile(" " + file.getAbsolutePath(), "", "", "1.8", false /*no log*/, targetWorkspacePath + File.separator + getName() + ".log");
+	}
+	/**
+	 * Build generated sources made of generic lambdas nested in invocations of generic methods,
+	 * whose type inference incorporates many bounds and copies bound sets for each lambda.
+	 */
+	public void testBuildNestedGenericLambdas() throws IOException {
+		tagAsSummary("Build with nested generic lambdas ", false); // do NOT put in fingerprint
+		final String targetWorkspacePath = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile().getCanonicalPath();
+		File file = new File(System.getProperty("java.io.tmpdir"), "NestedLambdas.java");
+		StringBuilder source = new StringBuilder();
+		source.append(
+			"import java.util.*;\n" +
+			"import java.util.function.*;\n" +
+			"import java.util.stream.*;\n" +
+			"public class NestedLambdas {\n" +
+			"	static <T, R> R apply(T t, Function<? super T, ? extends R> f) { return f.apply(t); }\n" +
+			"	static <T, U, R> R combine(T t, U u, BiFunction<? super T, ? super U, ? extends R> f) { return f.apply(t, u); }\n" +
+			"	static <T> Supplier<T> lazy(Supplier<? extends T> s) { return () -> s.get(); }\n");
+		for (int i = 0; i < 400; i++) {
+			source.append(
+				"	static class C" + i + " {\n" +
+				"		static Map<String, List<Integer>> m(List<String> in) {\n" +
+				"			return in.stream()\n" +
+				"				.<String>map(s -> apply(s, x -> combine(x, x.length(), (a, b) -> apply(a + b, y -> y.trim()))))\n" +
+				"				.filter(s -> NestedLambdas.<Boolean>lazy(() -> apply(s, x -> x.isEmpty())).get())\n" +
+				"				.collect(Collectors.groupingBy((String s) -> apply(s, x -> x.substring(0, 1)),\n" +
+				"					Collectors.mapping((String s) -> combine(s, " + i + ", (a, b) -> apply(a.length(), n -> n + b)), Collectors.toList())));\n" +
+				"		}\n" +
+				"	}\n");
+		}
+		source.append("}\n");
+		org.eclipse.jdt.core.tests.util.Util.writeToFile(source.toString(), file.getAbsolutePath());
+		compile(" " + file.getAbsolutePath(), "", "", "1.8", false /*no log*/, targetWorkspacePath + File.separator + getName() + ".log");
+	}
+	/**
+	 * Build generated sources whose methods hold about 10,000 branches (large switch statements, long chains
+	 * of if statements, nested try/finally statements) and many locals, for which most of the code generation
+	 * is spent in the computation of the stack map frames.
+	 */
+	public void testBuildLargeBranchingMethods() throws IOException {
+		tagAsSummary("Build with large branching methods ", false); // do NOT put in fingerprint
+		final String targetWorkspacePath = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile().getCanonicalPath();
+		File file = new File(System.getProperty("java.io.tmpdir"), "LargeBranchingMethods.java");
+		StringBuilder source = new StringBuilder();
+		source.append("public class LargeBranchingMethods {\n");
+		for (int m = 0; m < 2; m++) {
+			source.append("	static int sw" + m + "(int x) {\n");
+			for (int i = 0; i < 100; i++)
+				source.append("		int v" + i + " = x + " + i + ";\n");
+			source.append(
+				"		int a = 0;\n" +
+				"		switch (x) {\n");
+			for (int i = 0; i < 2500; i++)
+				source.append("			case " + i + ": a += v" + (i % 100) + "; break;\n");
+			source.append(
+				"		}\n" +
+				"		return a;\n" +
+				"	}\n");
+			source.append("	static int ifs" + m + "(int x) {\n");
+			for (int i = 0; i < 100; i++)
+				source.append("		long w" + i + " = x + " + i + ";\n");
+			source.append("		int a = 0;\n");
+			for (int i = 0; i < 2500; i++)
+				source.append("		if (x == " + i + ") a += (int) w" + (i % 100) + "; else a--;\n");
+			source.append(
+				"		return a;\n" +
+				"	}\n");
+		}
+		source.append(
+			"	static String tf(int x) {\n" +
+			"		StringBuilder b = new StringBuilder();\n");
+		for (int i = 0; i < 12; i++)
+			source.append("		try { int t" + i + " = x + " + i + "; if (t" + i + " > " + i + ") b.append(t" + i + ");\n");
+		for (int i = 0; i < 12; i++)
+			source.append("		} finally { b.append(" + i + "); }\n");
+		source.append(
+			"		return b.toString();\n" +
+			"	}\n" +
+			"}\n");
+		org.eclipse.jdt.core.tests.util.Util.writeToFile(source.toString(), file.getAbsolutePath());
+		compile(" " + file.getAbsolutePath(), "", "", "1.8", false /*no log*/, targetWorkspacePath + File.separator + getName() + ".log");
+	}
+	/**
+	 * Build generated sources whose methods declare 300 locals and nest loops, conditionals and try statements,
+	 * for which the flow analysis copies and merges large flow infos at each branch.
+	 */
+	public void testBuildManyLocals() throws IOException {
+		tagAsSummary("Build with methods declaring many locals", false); // do NOT put in fingerprint
+		final String targetWorkspacePath = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile().getCanonicalPath();
+		File file = new File(System.getProperty("java.io.tmpdir"), "ManyLocals.java");
+		StringBuilder source = new StringBuilder();
+		source.append("public class ManyLocals {\n");
+		for (int m = 0; m < 20; m++) {
+			source.append("	static int m" + m + "(int x, Object p) {\n");
+			for (int i = 0; i < 300; i++)
+				source.append("		int v" + i + " = x + " + i + ";\n");
+			source.append(
+				"		String s = p == null ? null : p.toString();\n" +
+				"		int a = 0;\n");
+			for (int i = 0; i < 15; i++) {
+				source.append(
+					"		for (int i" + i + " = 0; i" + i + " < x; i" + i + "++) {\n" +
+					"			for (int j" + i + " = 0; j" + i + " < i" + i + "; j" + i + "++) {\n" +
+					"				while (a < v" + (i * 7 % 300) + ") {\n" +
+					"					if (s != null && a > v" + (i * 3) + ") { a += s.length(); continue; }\n" +
+					"					if (a == v" + (i * 5) + ") break;\n" +
+					"					a += v" + (i * 11) + "; int t" + i + " = a * 2; if (t" + i + " > v" + i + ") a--;\n" +
+					"					try { a += v" + (100 + i) + "; } catch (RuntimeException e) { a = v" + (200 + i) + "; } finally { a++; }\n" +
+					"				}\n" +
+					"			}\n" +
+					"		}\n");
+			}
+			source.append(
+				"		return a;\n" +
+				"	}\n");
+		}
+		source.append("}\n");
+		org.eclipse.jdt.core.tests.util.Util.writeToFile(source.toString(), file.getAbsolutePath());
+		compile(" " + file.getAbsolutePath(), "", "", "1.8", false /*no log*/, targetWorkspacePath + File.separator + getName() + ".log");
+	}
+
+	/**
+	 * Full build of the entire workspace with JavaCore default options, the projects which do not depend
+	 * on each other being built concurrently by as many builds as there are processors.
+	 * To be compared with {@link #testFullBuildDefault()}.
+	 */
+	public void testFullBuildParallel() throws CoreException, IOException {
+		tagAsSummary("Build entire workspace in parallel", false); // do NOT put in fingerprint
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		int maxConcurrentBuilds = description.getMaxConcurrentBuilds();
+		description.setMaxConcurrentBuilds(Runtime.getRuntime().availableProcessors());
+		workspace.setDescription(description);
+		try {
+			build(null, warningOptions(0/*default warnings*/), false);
+		} finally {
+			description.setMaxConcurrentBuilds(maxConcurrentBuilds);
+			workspace.setDescription(description);
+		}
+	}
+
+	/**
+	 * Read the saved build states of all the workspace projects, as done at startup before the first build.
+	 * The references of the states are only decoded when a build needs them, hence the heap retained by
+	 * the read states is printed as well.
+	 */
+	public void testReadStates() throws CoreException, IOException {
+		tagAsSummary("Read build states of entire workspace", false); // do NOT put in fingerprint
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		List<IProject> projects = new ArrayList<>();
+		List<byte[]> savedStates = new ArrayList<>();
+		for (IJavaProject javaProject : ALL_PROJECTS) {
+			IProject project = javaProject.getProject();
+			Object state = manager.getLastBuiltState(project, null);
+			if (state == null) continue;
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			JavaBuilder.writeState(state, new DataOutputStream(bytes));
+			projects.add(project);
+			savedStates.add(bytes.toByteArray());
+		}
+		State[] states = new State[projects.size()];
+
+		// warm-up
+		for (int i=0; i<WARMUP_COUNT; i++) {
+			for (int j=0; j<states.length; j++)
+				states[j] = JavaBuilder.readState(projects.get(j), new DataInputStream(new ByteArrayInputStream(savedStates.get(j))));
+		}
+
+		// measures
+		for (int i=0; i<MEASURES_COUNT; i++) {
+			states = new State[states.length];
+			runGc();
+			startMeasuring();
+			for (int n=0; n<ITERATIONS_COUNT; n++) {
+				for (int j=0; j<states.length; j++)
+					states[j] = JavaBuilder.readState(projects.get(j), new DataInputStream(new ByteArrayInputStream(savedStates.get(j))));
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+
+		runGc();
+		Runtime runtime = Runtime.getRuntime();
+		System.out.println("	"+states.length+" build states read, used heap: "+(runtime.totalMemory()-runtime.freeMemory())/1024+"KB");
+	}
+
+	/*
+	 * Creates and builds a project of the given count of units, the given count of them referencing
+	 * the type api.Api, the others referencing other types only.
+	 */
+	private IPath createFanOutProject(String projectName, int unitsCount, int dependentsCount) throws JavaModelException {
+		IPath projectPath = ENV.addProject(projectName, "1.8");
+		ENV.addExternalJars(projectPath, org.eclipse.jdt.core.tests.util.Util.getJavaClassLibs());
+		ENV.removePackageFragmentRoot(projectPath, "");
+		IPath root = ENV.addPackageFragmentRoot(projectPath, "src");
+		ENV.setOutputFolder(projectPath, "bin");
+		ENV.addClass(root, "api", "Api", fanOutApi(0, 0));
+		for (int i = 0; i < unitsCount; i++) {
+			String use = i < dependentsCount
+				? "	int use(api.Api a) { return a.get(" + i + "); }\n"
+				: "	int use(java.util.List<String> l) { return l.size() + " + i + "; }\n";
+			ENV.addClass(root, "p" + (i % 50), "U" + i,
+				"package p" + (i % 50) + ";\n" +
+				"public class U" + i + " {\n" +
+				use +
+				"}\n");
+		}
+		ENV.fullBuild(projectPath);
+		return projectPath;
+	}
+
+	private static String fanOutApi(int version, int helperVersion) {
+		return
+			"package api;\n" +
+			"public class Api {\n" +
+			"	public int get(int i) { return helper" + helperVersion + "(i); }\n" +
+			"	private int helper" + helperVersion + "(int i) { return i; }\n" +
+			"	public int version" + version + "() { return " + version + "; }\n" +
+			"}\n";
+	}
+
+	/*
+	 * Measures the incremental builds which follow structural changes of api.Api in the given project,
+	 * either of its public members or of its private members only.
+	 */
+	private void buildFanOutChanges(IPath projectPath, boolean privateChanges) {
+		IPath root = projectPath.append("src");
+		int version = 0;
+		for (int i=0; i<WARMUP_COUNT; i++) {
+			++version;
+			ENV.addClass(root, "api", "Api", privateChanges ? fanOutApi(0, version) : fanOutApi(version, 0));
+			ENV.incrementalBuild(projectPath);
+		}
+		for (int i=0; i<MEASURES_COUNT; i++) {
+			++version;
+			ENV.addClass(root, "api", "Api", privateChanges ? fanOutApi(0, version) : fanOutApi(version, 0));
+			runGc();
+			startMeasuring();
+			ENV.incrementalBuild(projectPath);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+		ENV.removeProject(projectPath);
+	}
+
+	/**
+	 * Incremental builds after a structural change of a type referenced by 20 of the 5000 units of a project.
+	 * Most of the time is spent in finding the dependents of the change.
+	 */
+	public void testIncrementalBuildNarrowFanOut() throws JavaModelException {
+		tagAsSummary("Incremental build of a change with few dependents", false); // do NOT put in fingerprint
+		buildFanOutChanges(createFanOutProject("NarrowFanOut", 5000, 20), false);
+	}
+
+	/**
+	 * Incremental builds after a structural change of a type referenced by 2000 of the 5000 units of a project.
+	 * Most of the time is spent in compiling the dependents of the change.
+	 */
+	public void testIncrementalBuildWideFanOut() throws JavaModelException {
+		tagAsSummary("Incremental build of a change with many dependents", false); // do NOT put in fingerprint
+		buildFanOutChanges(createFanOutProject("WideFanOut", 5000, 2000), false);
+	}
+
+	/**
+	 * Incremental builds after a change of the private members only of a type referenced by 2000 of the 5000 units
+	 * of a project. None of the dependents looks up these members, so only the changed type is compiled.
+	 */
+	public void testIncrementalBuildPrivateChanges() throws JavaModelException {
+		tagAsSummary("Incremental build of a change of private members", false); // do NOT put in fingerprint
+		buildFanOutChanges(createFanOutProject("PrivateChanges", 5000, 2000), true);
+	}
+
+	/*
+	 * Full build of the entire workspace compiling the units of each project by groups of the given size,
+	 * 0 meaning all of them in a single pass. Answers the heap peak of the build and its number of warnings.
+	 */
+	private long[] buildByGroupsOf(int maxAtOnce, boolean measure) throws CoreException, IOException {
+		int previousMaxAtOnce = AbstractImageBuilder.MAX_AT_ONCE;
+		AbstractImageBuilder.MAX_AT_ONCE = maxAtOnce;
+		try {
+			Hashtable options = warningOptions(0/*default warnings*/);
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+				pool.resetPeakUsage();
+			int warnings = 0;
+			if (measure) {
+				warnings = build(null, options, false);
+			} else {
+				JavaCore.setOptions(options);
+				ENV.fullBuild();
+				IMarker[] markers = ResourcesPlugin.getWorkspace().getRoot().findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+				for (IMarker marker : markers)
+					if (((Integer) marker.getAttribute(IMarker.SEVERITY)).intValue() == IMarker.SEVERITY_WARNING)
+						warnings++;
+			}
+			long heapPeak = 0;
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+				if (pool.getType() == MemoryType.HEAP)
+					heapPeak += pool.getPeakUsage().getUsed();
+			System.out.println("	"+(maxAtOnce == 0 ? "single pass" : "groups of "+maxAtOnce+" units")+", heap peak: "+heapPeak/1024+"KB");
+			return new long[] { heapPeak, warnings };
+		} finally {
+			AbstractImageBuilder.MAX_AT_ONCE = previousMaxAtOnce;
+		}
+	}
+
+	/**
+	 * Full build of the entire workspace compiling all the units of a project in a single pass, the compiler
+	 * releasing each unit once generated while the bindings of its types stay shared with the other units.
+	 * The build must report the same warnings as a build by groups of 2000 units, with a heap peak at most
+	 * a quarter above.
+	 */
+	public void testFullBuildSinglePass() throws CoreException, IOException {
+		tagAsSummary("Build entire workspace in a single pass per project", false); // do NOT put in fingerprint
+		long[] groups = buildByGroupsOf(2000, false);
+		long[] singlePass = buildByGroupsOf(0, true);
+		assertEquals("Unexpected warnings in a single pass", groups[1], singlePass[1]);
+		assertTrue("Heap peak of a single pass "+singlePass[0]/1024+"KB is too far above the one by groups "+groups[0]/1024+"KB",
+				singlePass[0] <= groups[0] + groups[0] / 4);
+	}
+
+	/**
+	 * Full build of the entire workspace compiling the units of a project by groups of 2000, each group
+	 * rebuilding the bindings of the previous groups from their class files.
+	 * The build must report the same warnings as a build in a single pass.
+	 */
+	public void testFullBuildGroupsOfUnits() throws CoreException, IOException {
+		tagAsSummary("Build entire workspace by groups of 2000 units", false); // do NOT put in fingerprint
+		long[] singlePass = buildByGroupsOf(0, false);
+		long[] groups = buildByGroupsOf(2000, true);
+		assertEquals("Unexpected warnings by groups of units", singlePass[1], groups[1]);
+	}
 }
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.PrintStream;
+import java.text.NumberFormat;
+import java.util.List;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+import junit.framework.Test;
+
+/**
+ * Scanner micro benchmarks: scan (or diet parse) the sources of the JDT/Core project in memory,
+ * without any access to the workspace while measuring.
+ */
+@SuppressWarnings("rawtypes")
+public class FullSourceWorkspaceScannerTests extends FullSourceWorkspaceTests {
+
+	// Tests counter
+	private static int TESTS_COUNT = 0;
+	private final static int ITERATIONS_COUNT = 5;
+	private static long TOKENS_COUNT = 0;
+	private static long CHARS_COUNT = 0;
+
+	// Log files
+	private static PrintStream[] LOG_STREAMS = new PrintStream[DIM_NAMES.length];
+
+	// Sources of the scanned units
+	private static char[][] SOURCES;
+
+	public FullSourceWorkspaceScannerTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		Test suite = buildSuite(testClass());
+		TESTS_COUNT = suite.countTestCases();
+		createPrintStream(testClass(), LOG_STREAMS, TESTS_COUNT, null);
+		return suite;
+	}
+
+	private static Class testClass() {
+		return FullSourceWorkspaceScannerTests.class;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		if (SOURCES == null) {
+			List units = getProjectCompilationUnits(getProject("org.eclipse.jdt.core"));
+			SOURCES = new char[units.size()][];
+			for (int i = 0; i < SOURCES.length; i++) {
+				SOURCES[i] = ((ICompilationUnit) units.get(i)).getSource().toCharArray();
+			}
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+
+		// End of execution => one test less
+		TESTS_COUNT--;
+
+		// Log perf result
+		if (LOG_DIR != null) {
+			logPerfResult(LOG_STREAMS, TESTS_COUNT);
+		}
+
+		// Print statistics
+		if (TESTS_COUNT == 0) {
+			SOURCES = null;
+			System.out.println("-------------------------------------");
+			System.out.println("Scanner performance test statistics:");
+			NumberFormat intFormat = NumberFormat.getIntegerInstance();
+			System.out.println("  - "+intFormat.format(CHARS_COUNT)+" characters have been scanned.");
+			System.out.println("  - "+intFormat.format(TOKENS_COUNT)+" tokens have been answered.");
+			System.out.println("-------------------------------------\n");
+		}
+
+		// Call super at the end as it close print streams
+		super.tearDown();
+	}
+
+	private long sourceLevel() {
+		return CompilerOptions.versionToJdkLevel(JavaCore.latestSupportedJavaVersion());
+	}
+
+	/*
+	 * Scans all the tokens of all the sources with the given scanner.
+	 */
+	private void scan(Scanner scanner) throws InvalidInputException {
+		for (int i = 0; i < SOURCES.length; i++) {
+			scanner.setSource(SOURCES[i]);
+			CHARS_COUNT += SOURCES[i].length;
+			while (scanner.getNextToken() != TerminalTokens.TokenNameEOF) {
+				TOKENS_COUNT++;
+			}
+		}
+	}
+
+	private void runScanner(boolean tokenizeComments, boolean recordLineSeparator) throws InvalidInputException {
+		Scanner scanner = new Scanner(tokenizeComments, false /*whitespace*/, false /*nls*/, sourceLevel(), null /*taskTags*/, null /*taskPriorities*/, true /*taskCaseSensitive*/);
+		scanner.recordLineSeparator = recordLineSeparator;
+
+		// Warm up
+		for (int i = 0; i < 2; i++) {
+			scan(scanner);
+		}
+
+		// Measures
+		for (int i = 0; i < MEASURES_COUNT; i++) {
+			runGc();
+			startMeasuring();
+			for (int j = 0; j < ITERATIONS_COUNT; j++) {
+				scan(scanner);
+			}
+			stopMeasuring();
+		}
+
+		// Commit
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Scans the tokens of all the units of the JDT/Core project, comments being skipped (compiler, indexer).
+	 */
+	public void testScanTokens() throws InvalidInputException {
+		tagAsSummary("Scan tokens of JDT/Core units", false); // do NOT put in fingerprint
+		runScanner(false, false);
+	}
+
+	/**
+	 * Scans the tokens and comments of all the units of the JDT/Core project, as the DOM/AST and the formatter.
+	 */
+	public void testScanTokensAndComments() throws InvalidInputException {
+		tagAsSummary("Scan tokens and comments of JDT/Core units", false); // do NOT put in fingerprint
+		runScanner(true, true);
+	}
+
+	/**
+	 * Diet parses all the units of the JDT/Core project, i.e. scans their declarations and jumps over their bodies.
+	 */
+	public void testDietParse() {
+		tagAsSummary("Diet parse JDT/Core units", false); // do NOT put in fingerprint
+		CompilerOptions options = new CompilerOptions(JavaCore.getOptions());
+		Parser parser = new Parser(new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory()), false);
+		CompilationUnit[] units = new CompilationUnit[SOURCES.length];
+		for (int i = 0; i < SOURCES.length; i++) {
+			units[i] = new CompilationUnit(SOURCES[i], "X" + i + ".java", null);
+		}
+
+		// Warm up
+		for (int i = 0; i < 2; i++) {
+			for (CompilationUnit unit : units) {
+				parser.dietParse(unit, new CompilationResult(unit, 0, 1, options.maxProblemsPerUnit));
+			}
+		}
+
+		// Measures
+		for (int i = 0; i < MEASURES_COUNT; i++) {
+			runGc();
+			startMeasuring();
+			for (int j = 0; j < ITERATIONS_COUNT; j++) {
+				for (CompilationUnit unit : units) {
+					parser.dietParse(unit, new CompilationResult(unit, 0, 1, options.maxProblemsPerUnit));
+					CHARS_COUNT += unit.getContents().length;
+				}
+			}
+			stopMeasuring();
+		}
+
+		// Commit
+		commitMeasurements();
+		assertPerformance();
+	}
+}
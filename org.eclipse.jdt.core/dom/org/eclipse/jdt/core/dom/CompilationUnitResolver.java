@@ -57,6 +57,7 @@ import org.eclipse.jdt.internal.compiler.lookup.Binding;
 import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
 import org.eclipse.jdt.internal.compiler.lookup.PackageBinding;
 import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.parser.ParserPool;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
@@ -135,6 +136,15 @@ class CompilationUnitResolver extends Compiler {
 	public static final int BINDING_RECOVERY = 0x10;
 	public static final int INCLUDE_RUNNING_VM_BOOTCLASSPATH = 0x20;
 
+	/*
+	 * Parsers of parse(ICompilationUnit, NodeSearcher, Map, int, IJavaProject), reused by the following
+	 * parses of the same thread with the same settings and flags.
+	 */
+	private static final ParserPool<Parser> PARSERS = new ParserPool<>();
+	private record ParserKey(Map settings, int flags) {
+		// no specific behavior
+	}
+
 	/* A list of int */
 	static class IntArrayList {
 		public int[] list = new int[5];
@@ -643,23 +653,32 @@ class CompilationUnitResolver extends Compiler {
 		if (sourceUnit == null) {
 			throw new IllegalStateException();
 		}
-		CompilerOptions compilerOptions = new CompilerOptions(settings);
-		boolean statementsRecovery = (flags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0;
-		compilerOptions.performMethodsFullRecovery = statementsRecovery;
-		compilerOptions.performStatementsRecovery = statementsRecovery;
-		compilerOptions.ignoreMethodBodies = (flags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
-		Parser parser = new CommentRecorderParser(
-			new ProblemReporter(
-					DefaultErrorHandlingPolicies.proceedWithAllProblems(),
-					compilerOptions,
-					new DefaultProblemFactory()),
-			false);
-		if (project != null) {
-			parser.javadocParser.setProjectPath(getProjectPath(project));
-			parser.javadocParser.setProjectSrcClasspath(getSourceClassPaths(project));
-
+		ParserKey key = new ParserKey(settings == null ? null : new HashMap(settings), flags);
+		Parser parser = PARSERS.acquire(key, () -> {
+			CompilerOptions compilerOptions = new CompilerOptions(settings);
+			boolean statementsRecovery = (flags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0;
+			compilerOptions.performMethodsFullRecovery = statementsRecovery;
+			compilerOptions.performStatementsRecovery = statementsRecovery;
+			compilerOptions.ignoreMethodBodies = (flags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
+			return new CommentRecorderParser(
+				new ProblemReporter(
+						DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+						compilerOptions,
+						new DefaultProblemFactory()),
+				false);
+		});
+		try {
+			// a reused parser may have been configured for another project
+			parser.javadocParser.setProjectPath(project == null ? null : getProjectPath(project));
+			parser.javadocParser.setProjectSrcClasspath(project == null ? null : getSourceClassPaths(project));
+			return parse(parser, sourceUnit, nodeSearcher);
+		} finally {
+			PARSERS.release(key, parser);
 		}
-		CompilationResult compilationResult = new CompilationResult(sourceUnit, 0, 0, compilerOptions.maxProblemsPerUnit);
+	}
+
+	private static CompilationUnitDeclaration parse(Parser parser, org.eclipse.jdt.internal.compiler.env.ICompilationUnit sourceUnit, NodeSearcher nodeSearcher) {
+		CompilationResult compilationResult = new CompilationResult(sourceUnit, 0, 0, parser.options().maxProblemsPerUnit);
 		CompilationUnitDeclaration compilationUnitDeclaration = parser.dietParse(sourceUnit, compilationResult);
 
 		if (compilationUnitDeclaration.ignoreMethodBodies) {
@@ -346,7 +346,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 	/**
 	 * Name of the JVM parameter to specify how many compilation units must be handled at once by the builder.
-	 * The default value is represented by <code>AbstractImageBuilder#MAX_AT_ONCE</code>.
+	 * The default value is represented by <code>AbstractImageBuilder#MAX_AT_ONCE</code>, 0 compiles all of them
+	 * in a single pass. When it is not set, the units are compiled in a single pass unless annotations are processed.
 	 */
 	public static final String MAX_COMPILED_UNITS_AT_ONCE = "maxCompiledUnitsAtOnce"; //$NON-NLS-1$
 
@@ -1360,6 +1361,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		public final IProject project;
 		public volatile Object savedState;
 		public volatile boolean triedRead;
+		final Object savedStateLock = new Object(); // guards the lazy read of the saved state
 		public volatile IClasspathEntry[] rawClasspath;
 		public volatile IClasspathEntry[] referencedEntries;
 		public volatile IJavaModelStatus rawClasspathStatus;
@@ -2370,17 +2372,19 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			return null; // should never be requested on non-Java projects
 		}
 		PerProjectInfo info = getPerProjectInfo(project, true/*create if missing*/);
-		if (!info.triedRead) {
-			info.triedRead = true;
-			try {
-				if (monitor != null)
-					monitor.subTask(Messages.bind(Messages.build_readStateProgress, project.getName()));
-				info.savedState = readState(project);
-			} catch (CoreException e) {
-				Util.log(e, "Exception while reading last build state for: " + project); //$NON-NLS-1$
+		synchronized (info.savedStateLock) { // the builds of the projects which require it may run concurrently
+			if (!info.triedRead) {
+				info.triedRead = true;
+				try {
+					if (monitor != null)
+						monitor.subTask(Messages.bind(Messages.build_readStateProgress, project.getName()));
+					info.savedState = readState(project);
+				} catch (CoreException e) {
+					Util.log(e, "Exception while reading last build state for: " + project); //$NON-NLS-1$
+				}
 			}
+			return info.savedState;
 		}
-		return info.savedState;
 	}
 
 	public String getOption(String optionName) {
@@ -5325,8 +5329,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		if (JavaProject.hasJavaNature(project)) {
 			// should never be requested on non-Java projects
 			PerProjectInfo info = getPerProjectInfo(project, true /*create if missing*/);
-			info.triedRead = true; // no point trying to re-read once using setter
-			info.savedState = state;
+			synchronized (info.savedStateLock) {
+				info.triedRead = true; // no point trying to re-read once using setter
+				info.savedState = state;
+			}
 		}
 		if (state == null) { // delete state file to ensure a full build happens if the workspace crashes
 			try {
@@ -69,8 +69,12 @@ private boolean inCompiler;
 protected boolean keepStoringProblemMarkers;
 protected Map<SourceFile, AnnotationBinding[]> filesWithAnnotations = null;
 
-//2000 is best compromise between space used and speed
-public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
+// 0 compiles all the units in a single pass: the compiler releases each unit once its class files are generated
+// while the bindings of its types stay available to the other units, which a new group would rebuild from class files
+// -1 (unset) does the same, except with annotation processing, see MAX_AT_ONCE_WITH_ANNOTATION_PROCESSING
+public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, -1).intValue();
+// the compiler keeps all the units of a pass for the annotation processors, 2000 is best compromise between space used and speed
+static final int MAX_AT_ONCE_WITH_ANNOTATION_PROCESSING = 2000;
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
 		IMarker.MESSAGE,
 		IMarker.SEVERITY,
@@ -334,7 +338,9 @@ protected void compile(SourceFile[] units) {
 	}
 
 	int unitsLength = units.length;
-	this.compiledAllAtOnce = MAX_AT_ONCE == 0 || unitsLength <= MAX_AT_ONCE;
+	int maxAtOnce = MAX_AT_ONCE >= 0 ? MAX_AT_ONCE
+		: this.compiler.annotationProcessorManager != null ? MAX_AT_ONCE_WITH_ANNOTATION_PROCESSING : 0;
+	this.compiledAllAtOnce = maxAtOnce == 0 || unitsLength <= maxAtOnce;
 	if (this.compiledAllAtOnce) {
 		// do them all now
 		if (JavaBuilder.DEBUG) {
@@ -346,7 +352,7 @@ protected void compile(SourceFile[] units) {
 	} else {
 		SourceFile[] remainingUnits = new SourceFile[unitsLength]; // copy of units, removing units when about to compile
 		System.arraycopy(units, 0, remainingUnits, 0, unitsLength);
-		int doNow = unitsLength < MAX_AT_ONCE ? unitsLength : MAX_AT_ONCE;
+		int doNow = unitsLength < maxAtOnce ? unitsLength : maxAtOnce;
 		SourceFile[] toCompile = new SourceFile[doNow];
 		int remainingIndex = 0;
 		boolean compilingFirstGroup = true;
@@ -493,7 +499,7 @@ protected SourceFile findSourceFile(IFile file, boolean mustExist) {
 
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
 	if (duplicateTypeNames == null) {
-		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, mainTypeName, definedTypeNames);
+		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 		return;
 	}
 
@@ -509,7 +515,7 @@ protected void finishedWith(String sourceLocator, CompilationResult result, char
 		System.arraycopy(simpleRefs, 0, simpleRefs = new char[sLength + 1][], 0, sLength);
 		simpleRefs[sLength] = typeName;
 	}
-	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, mainTypeName, definedTypeNames);
+	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 }
 
 protected IContainer createFolder(IPath packagePath, IContainer outputFolder) throws CoreException {
@@ -789,11 +795,8 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 	}
 
 	String[] dependencies = result.dependencies;
-	if (dependencies != null) {
-		ReferenceCollection refs = this.newState.references.get(result.sourceFile.typeLocator());
-		if (refs != null)
-			refs.addDependencies(dependencies);
-	}
+	if (dependencies != null)
+		this.newState.recordDependencies(result.sourceFile.typeLocator(), dependencies);
 }
 
 /**
@@ -37,10 +37,16 @@ protected int workDone;
 protected int totalWork;
 protected String previousSubtask;
 
+// totals of the builds of the current build cycle, guarded by BuildNotifier.class since projects can be built in parallel
 public static int NewErrorCount = 0;
 public static int FixedErrorCount = 0;
 public static int NewWarningCount = 0;
 public static int FixedWarningCount = 0;
+// the totals this build started from, only the problems counted since then are added back in done()
+private final int startNewErrorCount;
+private final int startFixedErrorCount;
+private final int startNewWarningCount;
+private final int startFixedWarningCount;
 
 private static final int millisecondsBeforeCancelAutoBuild = Integer
 		.getInteger("org.eclipse.jdt.MillisecondsBeforeCancelAutoBuild", 1000); //$NON-NLS-1$
@@ -50,7 +56,7 @@ private final BooleanSupplier interruptSupplier;
 private final long startTimeNanos;
 private final int buildKind;
 
-public static void resetProblemCounters() {
+public static synchronized void resetProblemCounters() {
 	NewErrorCount = 0;
 	FixedErrorCount = 0;
 	NewWarningCount = 0;
@@ -62,10 +68,12 @@ public BuildNotifier(IProgressMonitor monitor, int buildKind, BooleanSupplier in
 	this.buildKind = buildKind;
 	this.interruptSupplier = interruptSupplier;
 	this.cancelling = false;
-	this.newErrorCount = NewErrorCount;
-	this.fixedErrorCount = FixedErrorCount;
-	this.newWarningCount = NewWarningCount;
-	this.fixedWarningCount = FixedWarningCount;
+	synchronized (BuildNotifier.class) {
+		this.newErrorCount = this.startNewErrorCount = NewErrorCount;
+		this.fixedErrorCount = this.startFixedErrorCount = FixedErrorCount;
+		this.newWarningCount = this.startNewWarningCount = NewWarningCount;
+		this.fixedWarningCount = this.startFixedWarningCount = FixedWarningCount;
+	}
 	this.workDone = 0;
 	this.totalWork = 1000000;
 	this.startTimeNanos = System.nanoTime();
@@ -149,10 +157,12 @@ public void compiled(SourceFile unit) {
 }
 
 public void done() {
-	NewErrorCount = this.newErrorCount;
-	FixedErrorCount = this.fixedErrorCount;
-	NewWarningCount = this.newWarningCount;
-	FixedWarningCount = this.fixedWarningCount;
+	synchronized (BuildNotifier.class) {
+		NewErrorCount += this.newErrorCount - this.startNewErrorCount;
+		FixedErrorCount += this.fixedErrorCount - this.startFixedErrorCount;
+		NewWarningCount += this.newWarningCount - this.startNewWarningCount;
+		FixedWarningCount += this.fixedWarningCount - this.startFixedWarningCount;
+	}
 
 	updateProgress(1.0f);
 	subTask(Messages.build_done);
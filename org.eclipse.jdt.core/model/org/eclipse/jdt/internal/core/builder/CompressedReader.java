@@ -51,6 +51,13 @@ public class CompressedReader {
 		return this.in.readInt();
 	}
 
+	/** @see CompressedWriter#writeBytes(byte[]) **/
+	public byte[] readBytes() throws IOException {
+		byte[] bytes = new byte[this.in.readInt()];
+		this.in.readFully(bytes);
+		return bytes;
+	}
+
 	/** @see CompressedWriter#writeChars(char[]) **/
 	public char[] readChars() throws IOException {
 		return this.in.readUTF().toCharArray();
@@ -52,6 +52,16 @@ public class CompressedWriter {
 		this.out.writeInt(v);
 	}
 
+	/**
+	 * Write the given bytes, preceded by their count, so that they can be read as a block.
+	 *
+	 * @see CompressedReader#readBytes()
+	 **/
+	public void writeBytes(byte[] bytes) throws IOException {
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+
 	// ---- compressed outputs: ---
 
 	/**
@@ -31,7 +31,6 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 import java.net.URI;
 import java.util.*;
-import java.util.Map.Entry;
 
 /**
  * The incremental image builder
@@ -44,6 +43,8 @@ protected LinkedHashSet<SourceFile> previousSourceFiles;
 protected Set<String> qualifiedStrings;
 protected Set<String> simpleStrings;
 protected Set<String> rootStrings;
+// keyed by the qualified file name of a type whose private members changed, value is the names of these members
+protected Map<String, Set<String>> memberChanges;
 protected SimpleLookupTable secondaryTypesToRemove;
 protected boolean hasStructuralChanges;
 protected boolean makeOutputFolderConsistent;
@@ -222,14 +223,32 @@ protected void buildAfterBatchBuild() {
 }
 
 protected void addAffectedSourceFiles() {
-	if (this.qualifiedStrings.size() == 0 && this.simpleStrings.size() == 0) return;
-	if(this.testImageBuilder != null) {
-		this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	if (this.qualifiedStrings.size() > 0 || this.simpleStrings.size() > 0) {
+		if(this.testImageBuilder != null) {
+			this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+		}
+		addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	}
+	// private members are only accessible from their own source file, so the dependents of such a change
+	// are the source files which reference the type and look up a member of the same name
+	for (Map.Entry<String, Set<String>> entry : this.memberChanges.entrySet()) {
+		Set<String> qualifiedSet = new HashSet<>(3);
+		Set<String> simpleSet = new HashSet<>(3);
+		Set<String> rootSet = new HashSet<>(3);
+		addDependentsOf(new Path(entry.getKey()), false, qualifiedSet, simpleSet, rootSet);
+		char[][] internedMemberNames = ReferenceCollection.internSimpleNames(entry.getValue(), false);
+		if(this.testImageBuilder != null) {
+			this.testImageBuilder.addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, null, internedMemberNames);
+		}
+		addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, null, internedMemberNames);
 	}
-	addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
 }
 
 protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes) {
+	addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, affectedTypes, null);
+}
+
+private void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes, char[][] memberNames) {
 	// the qualifiedStrings are of the form 'p1/p2' & the simpleStrings are just 'X'
 	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedSet);
 	// if a well known qualified name was found then we can skip over these
@@ -241,10 +260,14 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
 
-	next: for (Entry<String, ReferenceCollection> entry : this.newState.references.entrySet()) {
-		String typeLocator = entry.getKey();
+	Map<String, ReferenceCollection> references = this.newState.references();
+	// a file which does not reference any of the simple names cannot be affected, unless they include a well known name
+	Collection<String> typeLocators = internedSimpleNames == null ? references.keySet() : this.newState.getDependentLocators(internedSimpleNames);
+	next: for (String typeLocator : typeLocators) {
 		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue next;
-		ReferenceCollection refs = entry.getValue();
+		ReferenceCollection refs = references.get(typeLocator);
+		if (refs == null) continue next; // the file was removed since it was indexed
+		if (memberNames != null && !refs.includesMember(memberNames)) continue next;
 		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
 			IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
 			SourceFile sourceFile = findSourceFile(file, true);
@@ -299,6 +322,19 @@ protected void addDependentsOf(IPath path, boolean isStructuralChange, Set<Strin
 			+ typeName + " in " + packageName); //$NON-NLS-1$
 }
 
+protected void addMemberDependentsOf(String fileName, char[][] memberNames) {
+	if (!this.hasStructuralChanges) {
+		this.newState.tagAsStructurallyChanged();
+		this.hasStructuralChanges = true;
+	}
+	Set<String> names = this.memberChanges.computeIfAbsent(fileName, k -> new HashSet<>(3));
+	for (char[] memberName : memberNames)
+		names.add(new String(memberName));
+	if (JavaBuilder.DEBUG)
+		System.out.println("  will look for dependents of " //$NON-NLS-1$
+			+ fileName + " which use " + names); //$NON-NLS-1$
+}
+
 protected boolean checkForClassFileChanges(IResourceDelta binaryDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
 	IResource resource = binaryDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
@@ -338,6 +374,7 @@ protected void cleanUp() {
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
+	this.memberChanges = null;
 	this.secondaryTypesToRemove = null;
 	this.hasStructuralChanges = false;
 }
@@ -824,6 +861,7 @@ protected void resetCollections() {
 		this.qualifiedStrings = new HashSet<>(3);
 		this.simpleStrings = new HashSet<>(3);
 		this.rootStrings = new HashSet<>(3);
+		this.memberChanges = new LinkedHashMap<>(3);
 		this.hasStructuralChanges = false;
 	} else {
 		this.previousSourceFiles = this.sourceFiles.isEmpty() ? null : (LinkedHashSet) this.sourceFiles.clone();
@@ -832,6 +870,7 @@ protected void resetCollections() {
 		this.qualifiedStrings.clear();
 		this.simpleStrings.clear();
 		this.rootStrings.clear();
+		this.memberChanges.clear();
 		this.workQueue.clear();
 	}
 }
@@ -943,10 +982,19 @@ protected boolean classFileChanged(IFile file, String fileName, byte[] newBytes)
 		String filePath = location.getSchemeSpecificPart();
 		ClassFileReader reader = new ClassFileReader(oldBytes, filePath.toCharArray());
 		// ignore local types since they're only visible inside a single method
-		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
-			if (JavaBuilder.DEBUG)
-				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
-			addDependentsOf(new Path(fileName), true);
+		if (reader.isLocal() || reader.isAnonymous()) return true;
+		ClassFileReader newReader = new ClassFileReader(newBytes, filePath.toCharArray()); // compared twice, read once
+		if (reader.hasStructuralChanges(newReader)) {
+			char[][] memberNames = JavaBuilder.DISABLE_MEMBER_DEPENDENCIES ? null : reader.getPrivateMemberChanges(newReader);
+			if (memberNames != null) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes to private members " + fileName); //$NON-NLS-1$
+				addMemberDependentsOf(fileName, memberNames);
+			} else {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
+				addDependentsOf(new Path(fileName), true);
+			}
 			this.newState.wasStructurallyChanged(fileName);
 		}
 	} catch (JavaModelException jme) {
@@ -18,6 +18,7 @@ import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.*;
@@ -53,6 +54,17 @@ public static boolean SHOW_STATS = false;
  * specify VM property: {@code -Dorg.eclipse.disableAutoBuildOnSettingsChange=true}
  */
 private static final boolean DISABLE_AUTO_BUILDING_ON_SETTINGS_CHANGE = Boolean.getBoolean("org.eclipse.disableAutoBuildOnSettingsChange"); //$NON-NLS-1$
+/**
+ * Java projects which do not depend on each other are built concurrently when the workspace allows several
+ * concurrent builds, unless the VM property {@code -Dorg.eclipse.jdt.disableParallelBuilds=true} is specified.
+ */
+private static final boolean DISABLE_PARALLEL_BUILDS = Boolean.getBoolean("org.eclipse.jdt.disableParallelBuilds"); //$NON-NLS-1$
+/**
+ * When a type only changes its private fields or methods, the incremental builder recompiles the source files which
+ * reference the type and look up a member of the same name, unless the VM property
+ * {@code -Dorg.eclipse.jdt.disableMemberDependencies=true} is specified.
+ */
+static final boolean DISABLE_MEMBER_DEPENDENCIES = Boolean.getBoolean("org.eclipse.jdt.disableMemberDependencies"); //$NON-NLS-1$
 private static final IPath JDT_CORE_SETTINGS_PATH = Path.fromPortableString(JavaProject.DEFAULT_PREFERENCES_DIRNAME + IPath.SEPARATOR + JavaProject.JAVA_CORE_PREFS_FILE);
 
 /**
@@ -518,6 +530,28 @@ private IProject[] getRequiredProjects(boolean includeBinaryPrerequisites) {
 	return result;
 }
 
+/**
+ * Answers the project itself when the workspace runs several builds concurrently, so that the projects which
+ * do not depend on each other get built in parallel. The builder only writes into the output folders and the
+ * markers of its own project, and the build order of the workspace, which includes the projects required on
+ * the classpath (see DynamicProjectReferences), ensures that these have been built beforehand.
+ * <p>
+ * Compilation participants are not known to support concurrent builds: the whole workspace is locked
+ * while building the projects which have some.
+ * </p>
+ */
+@Override
+public ISchedulingRule getRule(int kind, Map<String, String> args) {
+	IProject project = getProject();
+	if (DISABLE_PARALLEL_BUILDS
+			|| project == null
+			|| !project.isAccessible()
+			|| project.getWorkspace().getDescription().getMaxConcurrentBuilds() <= 1
+			|| JavaModelManager.getJavaModelManager().compilationParticipants.getCompilationParticipants(JavaCore.create(project)) != null)
+		return super.getRule(kind, args);
+	return project;
+}
+
 boolean hasBuildpathErrors() throws CoreException {
 	IMarker[] markers = this.currentProject.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 	for (IMarker marker : markers)
@@ -654,10 +688,12 @@ private int initializeBuilder(int kind, boolean forBuild) throws CoreException {
 
 		// Flush the existing external files cache if this is the beginning of a build cycle
 		String projectName = this.currentProject.getName();
-		if (builtProjects == null || builtProjects.contains(projectName)) {
-			builtProjects = new LinkedHashSet();
+		synchronized (JavaBuilder.class) {
+			if (builtProjects == null || builtProjects.contains(projectName)) {
+				builtProjects = new LinkedHashSet();
+			}
+			builtProjects.add(projectName);
 		}
-		builtProjects.add(projectName);
 	}
 
 	this.binaryLocationsPerProject = new SimpleLookupTable(3);
@@ -33,11 +33,18 @@ public class ReferenceCollection {
 char[][][] qualifiedNameReferences;
 char[][] simpleNameReferences;
 char[][] rootReferences;
+// names of the fields and methods looked up by the source file, null if unknown
+char[][] memberReferences;
 
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
+	this(qualifiedNameReferences, simpleNameReferences, rootReferences, null);
+}
+
+protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
 	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
 	this.rootReferences = internSimpleNames(rootReferences, false);
+	this.memberReferences = memberReferences == null ? null : internSimpleNames(memberReferences, false);
 }
 
 /**
@@ -138,6 +145,21 @@ private boolean doIncludes(char[][][] qualifiedNames, char[][] simpleNames, char
 	}
 }
 
+/**
+ * Answers whether the source file looked up a field or a method with one of the given interned names.
+ * A collection which does not know its member references answers true.
+ *
+ * @see org.eclipse.jdt.internal.compiler.CompilationResult#memberReferences
+ */
+public boolean includesMember(char[][] memberNames) {
+	if (this.memberReferences == null)
+		return true;
+	for (char[] memberName : memberNames)
+		if (sortedArrayContains(this.memberReferences, memberName, SortedCharArrays.CHAR_ARR_COMPARATOR))
+			return true;
+	return false;
+}
+
 public boolean insideRoot(char[] rootName) {
 	boolean result = sortedArrayContains(this.rootReferences, rootName, SortedCharArrays.CHAR_ARR_COMPARATOR);
 	if (REFERENCE_COLLECTION_DEBUG) {
@@ -379,7 +401,9 @@ static char[][][] internQualifiedNames(char[][][] qualifiedNames, boolean keepWe
 			}
 			prev = qualifiedName;
 		}
-		keepers[index++] = internedNames.add(qualifiedName);
+		synchronized (internedNames) { // shared by the concurrent builds
+			keepers[index++] = internedNames.add(qualifiedName);
+		}
 	}
 	if (length > index) {
 		if (index == 0) return EmptyQualifiedNames;
@@ -472,7 +496,9 @@ static char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown,
 		// InternedSimpleNames[1] is for size 1...
 		// InternedSimpleNames[29] is for size 29
 		NameSet internedNames = InternedSimpleNames[sLength < MaxSimpleNames ? sLength : 0];
-		keepers[index++] = internedNames.add(name);
+		synchronized (internedNames) { // shared by the concurrent builds
+			keepers[index++] = internedNames.add(name);
+		}
 		// This code is duplicated to encourage the JIT to inline more stuff
 		if (doSort && isSorted) {
 			if (prev != null && SortedCharArrays.compareCharArray(prev, name) > 0) {
@@ -628,7 +654,8 @@ public boolean equals(Object obj) {
 	ReferenceCollection other = (ReferenceCollection) obj;
 	return Arrays.deepEquals(this.qualifiedNameReferences, other.qualifiedNameReferences)
 			&& Arrays.deepEquals(this.rootReferences, other.rootReferences)
-			&& Arrays.deepEquals(this.simpleNameReferences, other.simpleNameReferences);
+			&& Arrays.deepEquals(this.simpleNameReferences, other.simpleNameReferences)
+			&& Arrays.deepEquals(this.memberReferences, other.memberReferences);
 }
 
 }
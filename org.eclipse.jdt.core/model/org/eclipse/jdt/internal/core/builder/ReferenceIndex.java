@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Inverted index of the references of a {@link State}: the type locators of the source files which
+ * reference each simple name, so that the dependents of a change are found without asking each
+ * {@link ReferenceCollection} of the project.
+ * <p>
+ * Simple names are interned by {@link ReferenceCollection}, hence compared by identity. Well known
+ * names are not interned, so they are not indexed either.
+ * </p>
+ * <p>
+ * The index of a state is copied into the state of the next build. The sets of type locators are shared
+ * between both copies, and a set is only copied when a recorded source file changes it.
+ * </p>
+ */
+class ReferenceIndex {
+
+// keyed by an interned simple name, value is the set of the type locators of the files which reference it
+private final Map<char[], Set<String>> dependents;
+// sets of the above map which are not shared with another index
+private final Set<Set<String>> ownedDependents;
+// position of each type locator in the references of the state, to answer dependents in the same order
+private final Map<String, Integer> positions;
+private int nextPosition;
+
+ReferenceIndex(Map<String, ReferenceCollection> references) {
+	this.dependents = new HashMap<>();
+	this.ownedDependents = Collections.newSetFromMap(new IdentityHashMap<>());
+	this.positions = new HashMap<>((int) (references.size() / 0.75 + 1));
+	for (Entry<String, ReferenceCollection> entry : references.entrySet())
+		record(entry.getKey(), null, entry.getValue());
+}
+
+ReferenceIndex(ReferenceIndex index) {
+	this.dependents = new HashMap<>(index.dependents);
+	this.ownedDependents = Collections.newSetFromMap(new IdentityHashMap<>());
+	index.ownedDependents.clear(); // the sets are now shared, so neither index may change them in place
+	this.positions = new HashMap<>(index.positions);
+	this.nextPosition = index.nextPosition;
+}
+
+/**
+ * Answers the type locators of the files which reference any of the given interned simple names,
+ * in the order of the references of the state.
+ */
+List<String> dependentsOf(char[][] simpleNames) {
+	Set<String> typeLocators = new HashSet<>();
+	for (char[] simpleName : simpleNames) {
+		Set<String> names = this.dependents.get(simpleName);
+		if (names != null)
+			typeLocators.addAll(names);
+	}
+	List<String> result = new ArrayList<>(typeLocators);
+	result.sort((a, b) -> Integer.compare(this.positions.get(a), this.positions.get(b)));
+	return result;
+}
+
+/**
+ * Records the references of the given file, which replace its previous references if any.
+ * The previous references are always unrecorded first, so that the file is only indexed under
+ * the names it references now.
+ * A new file takes the last position, as in the references of the state.
+ */
+void record(String typeLocator, ReferenceCollection previous, ReferenceCollection collection) {
+	if (previous != null) {
+		removeDependent(typeLocator, previous);
+	} else {
+		this.positions.put(typeLocator, Integer.valueOf(this.nextPosition++));
+	}
+	for (char[] simpleName : collection.simpleNameReferences)
+		ownedDependents(simpleName).add(typeLocator);
+}
+
+/**
+ * Records the simple names which were added to the given collection of the given file.
+ *
+ * @see ReferenceCollection#addDependencies(String[])
+ */
+void recordAdded(String typeLocator, ReferenceCollection collection) {
+	for (char[] simpleName : collection.simpleNameReferences) {
+		Set<String> names = this.dependents.get(simpleName);
+		if (names == null || !names.contains(typeLocator))
+			ownedDependents(simpleName).add(typeLocator);
+	}
+}
+
+void remove(String typeLocator, ReferenceCollection previous) {
+	removeDependent(typeLocator, previous);
+	this.positions.remove(typeLocator);
+}
+
+private void removeDependent(String typeLocator, ReferenceCollection previous) {
+	for (char[] simpleName : previous.simpleNameReferences) {
+		Set<String> names = this.dependents.get(simpleName);
+		if (names != null && names.contains(typeLocator))
+			ownedDependents(simpleName).remove(typeLocator);
+	}
+}
+
+private Set<String> ownedDependents(char[] simpleName) {
+	Set<String> names = this.dependents.get(simpleName);
+	if (names == null || !this.ownedDependents.contains(names)) {
+		names = names == null ? new HashSet<>(4) : new HashSet<>(names);
+		this.dependents.put(simpleName, names);
+		this.ownedDependents.add(names);
+	}
+	return names;
+}
+}
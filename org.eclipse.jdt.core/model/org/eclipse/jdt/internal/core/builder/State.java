@@ -20,6 +20,8 @@ package org.eclipse.jdt.internal.core.builder;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -44,6 +46,7 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.IProblem;
@@ -68,7 +71,13 @@ public ClasspathMultiDirectory[] testSourceLocations;
 public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
+// null until the saved references of a read state are decoded, use references()
 Map<String, ReferenceCollection> references;
+// encoded references table and interned type locators of a read state, until its references are needed
+private byte[] savedReferences;
+private String[] savedTypeLocators;
+// inverted index of the references, built when the dependents of a change are first looked for
+private ReferenceIndex referenceIndex;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public Map<String, String> typeLocators;
 
@@ -82,7 +91,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0026;
+public static final byte VERSION = 0x0028;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -130,8 +139,11 @@ void copyFrom(State lastState) {
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
-	this.references = new LinkedHashMap<>(lastState.references);
+	this.references = new LinkedHashMap<>(lastState.references());
 	this.typeLocators = new LinkedHashMap<>(lastState.typeLocators);
+	synchronized (lastState) {
+		this.referenceIndex = lastState.referenceIndex == null ? null : new ReferenceIndex(lastState.referenceIndex);
+	}
 }
 
 /**
@@ -154,7 +166,7 @@ public boolean equals(Object obj) {
 			&& Arrays.equals(this.testSourceLocations, other.testSourceLocations)
 			&& Arrays.equals(this.testBinaryLocations, other.testBinaryLocations)
 			&& Objects.equals(this.typeLocators, other.typeLocators)
-			&& Objects.equals(this.references, other.references);
+			&& Objects.equals(references(), other.references());
 // Below fields aren't persisted
 //			&& this.previousStructuralBuildTime == other.previousStructuralBuildTime
 //			&& Arrays.equals(this.knownPackageNames, other.knownPackageNames)
@@ -167,15 +179,25 @@ public int hashCode() {
 	return 31 + Objects.hash(this.javaProjectName);
 }
 
+/**
+ * Answers the type locators of the source files which reference any of the given interned simple names,
+ * in the order of {@link #getReferences()}. Well known names are not interned, hence never answered.
+ */
+synchronized List<String> getDependentLocators(char[][] simpleNames) {
+	if (this.referenceIndex == null)
+		this.referenceIndex = new ReferenceIndex(references());
+	return this.referenceIndex.dependentsOf(simpleNames);
+}
+
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = references().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
 public Map<String, ReferenceCollection> getReferences() {
-	return this.references;
+	return references();
 }
 
 StringSet getStructurallyChangedTypes(State prereqState) {
@@ -229,13 +251,26 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	return true;
 }
 
-void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[][] memberRefs, char[] mainTypeName, ArrayList typeNames) {
+	ReferenceCollection collection;
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		collection = new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs, memberRefs);
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		collection = new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs, memberRefs);
+	}
+	ReferenceCollection previous = references().put(typeLocator, collection);
+	if (this.referenceIndex != null)
+		this.referenceIndex.record(typeLocator, previous, collection);
+}
+
+void recordDependencies(String typeLocator, String[] typeNameDependencies) {
+	ReferenceCollection collection = references().get(typeLocator);
+	if (collection != null) {
+		collection.addDependencies(typeNameDependencies);
+		if (this.referenceIndex != null)
+			this.referenceIndex.recordAdded(typeLocator, collection);
 	}
 }
 
@@ -256,7 +291,9 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 
 void removeLocator(String typeLocatorToRemove) {
 	this.knownPackageNames = null;
-	this.references.remove(typeLocatorToRemove);
+	ReferenceCollection previous = references().remove(typeLocatorToRemove);
+	if (previous != null && this.referenceIndex != null)
+		this.referenceIndex.remove(typeLocatorToRemove, previous);
 	this.typeLocators.values().removeIf(v -> typeLocatorToRemove.equals(v));
 }
 
@@ -328,13 +365,39 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	for (int i = 0; i < length; i++)
 		newState.recordLocatorForType(in.readStringUsingLast(), internedTypeLocators[in.readIntInRange(internedTypeLocators.length)]);
 
+	// the references are only decoded when they are needed, see references()
+	newState.savedReferences = in.readBytes();
+	newState.savedTypeLocators = internedTypeLocators;
+	if (JavaBuilder.DEBUG) {
+		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	}
+	return newState;
+}
+
+/**
+ * Answers the references of this state, decoding them from the saved state on first use.
+ */
+synchronized Map<String, ReferenceCollection> references() {
+	if (this.references == null) {
+		try {
+			this.references = readReferences(new CompressedReader(new DataInputStream(new ByteArrayInputStream(this.savedReferences))), this.savedTypeLocators);
+		} catch (IOException e) {
+			throw new ImageBuilderInternalException(new CoreException(Status.error("Failed to read references of " + this.javaProjectName, e))); //$NON-NLS-1$
+		}
+		this.savedReferences = null;
+		this.savedTypeLocators = null;
+	}
+	return this.references;
+}
+
+private static Map<String, ReferenceCollection> readReferences(CompressedReader in, String[] internedTypeLocators) throws IOException {
 	/*
 	 * Here we read global arrays of names for the entire project - do not mess up the ordering while interning
 	 */
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
 	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
-	char[][][] internedQualifiedNames = new char[length = in.readInt()][][];
-	for (int i = 0; i < length; i++) {
+	char[][][] internedQualifiedNames = new char[in.readInt()][][];
+	for (int i = 0; i < internedQualifiedNames.length; i++) {
 		int qLength = in.readInt();
 		char[][] qName = new char[qLength][];
 		for (int j = 0; j < qLength; j++)
@@ -343,8 +406,8 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	}
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
 
-	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
+	int length = in.readInt();
+	Map<String, ReferenceCollection> references = new LinkedHashMap((int) (length / 0.75 + 1));
 	for (int i = 0; i < length; i++) {
 		String typeLocator = internedTypeLocators[in.readInt()];
 		ReferenceCollection collection = null;
@@ -360,7 +423,8 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 				char[][] rootNames = new char[in.readInt()][];
 				for (int j = 0, m = rootNames.length; j < m; j++)
 					rootNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
+				char[][] memberNames = readMemberNames(in, internedSimpleNames);
+				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames, memberNames);
 				break;
 			case 2 :
 				char[][][] qNames = new char[in.readInt()][][];
@@ -372,14 +436,21 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 				char[][] rNames = new char[in.readInt()][];
 				for (int j = 0, m = rNames.length; j < m; j++)
 					rNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
+				char[][] mNames = readMemberNames(in, internedSimpleNames);
+				collection = new ReferenceCollection(qNames, sNames, rNames, mNames);
 		}
-		newState.references.put(typeLocator, collection);
-	}
-	if (JavaBuilder.DEBUG) {
-		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+		references.put(typeLocator, collection);
 	}
-	return newState;
+	return references;
+}
+
+private static char[][] readMemberNames(CompressedReader in, char[][] internedSimpleNames) throws IOException {
+	if (!in.readBoolean())
+		return null;
+	char[][] memberNames = new char[in.readInt()][];
+	for (int j = 0, m = memberNames.length; j < m; j++)
+		memberNames[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
+	return memberNames;
 }
 
 private static ClasspathMultiDirectory[] readSourceLocations(IProject project, CompressedReader in, List<ClasspathLocation> allLocationsForEEA) throws IOException {
@@ -594,20 +665,38 @@ void write(DataOutputStream output) throws IOException {
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(length = this.references.size());
-	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
-	if (length > 0) {
-		Set<String> keys = this.references.keySet();
-		for (String key : keys) {
-			if (key != null) {
-				length--;
-				out.writeStringUsingLast(key);
-				internedTypeLocators.put(key, Integer.valueOf(internedTypeLocators.elementSize));
-			}
+	String[] savedLocators;
+	byte[] encodedReferences;
+	synchronized (this) {
+		savedLocators = this.savedTypeLocators;
+		encodedReferences = this.savedReferences;
+	}
+	SimpleLookupTable internedTypeLocators;
+	if (encodedReferences != null) { // references were never decoded, write them back as they were read
+		out.writeInt(length = savedLocators.length);
+		internedTypeLocators = new SimpleLookupTable(length);
+		for (String key : savedLocators) {
+			out.writeStringUsingLast(key);
+			internedTypeLocators.put(key, Integer.valueOf(internedTypeLocators.elementSize));
 		}
-		if (JavaBuilder.DEBUG && length != 0) {
-			trace("references table is inconsistent"); //$NON-NLS-1$
+	} else {
+		Map<String, ReferenceCollection> references = references();
+		out.writeInt(length = references.size());
+		internedTypeLocators = new SimpleLookupTable(length);
+		if (length > 0) {
+			Set<String> keys = references.keySet();
+			for (String key : keys) {
+				if (key != null) {
+					length--;
+					out.writeStringUsingLast(key);
+					internedTypeLocators.put(key, Integer.valueOf(internedTypeLocators.elementSize));
+				}
+			}
+			if (JavaBuilder.DEBUG && length != 0) {
+				trace("references table is inconsistent"); //$NON-NLS-1$
+			}
 		}
+		encodedReferences = writeReferences(references, internedTypeLocators);
 	}
 
 /*
@@ -633,15 +722,28 @@ void write(DataOutputStream output) throws IOException {
 		}
 	}
 
+/*
+ * byte[]		References, encoded as a block which is only decoded when needed
+ * 			(see writeReferences(Map, SimpleLookupTable))
+ */
+	out.writeBytes(encodedReferences);
+}
+
+private byte[] writeReferences(Map<String, ReferenceCollection> references, SimpleLookupTable internedTypeLocators) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream output = new DataOutputStream(bytes);
+	CompressedWriter out = new CompressedWriter(output);
+	int length;
+
 /*
  * char[][]	Interned root names
  * char[][][]	Interned qualified names
- * char[][]	Interned simple names
+ * char[][]	Interned simple names, including the names of the referenced members
  */
 	SimpleLookupTable internedRootNames = new SimpleLookupTable(3);
 	SimpleLookupTable internedQualifiedNames = new SimpleLookupTable(31);
 	SimpleLookupTable internedSimpleNames = new SimpleLookupTable(31);
-	for (ReferenceCollection collection : this.references.values()) {
+	for (ReferenceCollection collection : references.values()) {
 		char[][] rNames = collection.rootReferences;
 		for (char[] rName : rNames) {
 			if (!internedRootNames.containsKey(rName)) // remember the names have been interned
@@ -662,6 +764,13 @@ void write(DataOutputStream output) throws IOException {
 			if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
 				internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
 		}
+		char[][] mNames = collection.memberReferences;
+		if (mNames != null) {
+			for (char[] mName : mNames) {
+				if (!internedSimpleNames.containsKey(mName)) // remember the names have been interned
+					internedSimpleNames.put(mName, Integer.valueOf(internedSimpleNames.elementSize));
+			}
+		}
 	}
 	char[][] internedArray = new char[internedRootNames.elementSize][];
 	Object[] rootNames = internedRootNames.keyTable;
@@ -710,9 +819,9 @@ void write(DataOutputStream output) throws IOException {
  * int		interned locator id
  * ReferenceCollection
 */
-	out.writeInt(length = this.references.size());
+	out.writeInt(length = references.size());
 	if (length > 0) {
-		for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
+		for (Entry<String, ReferenceCollection> entry : references.entrySet()) {
 			String key = entry.getKey();
 			length--;
 			Integer index = (Integer) internedTypeLocators.get(key);
@@ -746,11 +855,23 @@ void write(DataOutputStream output) throws IOException {
 				index = (Integer) internedRootNames.get(rNames[j]);
 				out.writeIntInRange(index.intValue(), internedRootNames.elementSize);
 			}
+			char[][] mNames = collection.memberReferences;
+			out.writeBoolean(mNames != null);
+			if (mNames != null) {
+				int mLength = mNames.length;
+				out.writeInt(mLength);
+				for (int j = 0; j < mLength; j++) {
+					index = (Integer) internedSimpleNames.get(mNames[j]);
+					out.writeIntInRange(index.intValue(), internedSimpleNames.elementSize);
+				}
+			}
 		}
 		if (JavaBuilder.DEBUG && length != 0) {
 			trace("references table is inconsistent"); //$NON-NLS-1$
 		}
 	}
+	output.flush();
+	return bytes.toByteArray();
 }
 
 private void writeSourceLocations(CompressedWriter out, ClasspathMultiDirectory[] srcLocations) throws IOException {
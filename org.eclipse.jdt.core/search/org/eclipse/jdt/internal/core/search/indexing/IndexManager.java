@@ -63,6 +63,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.internal.compiler.ISourceElementRequestor;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.ParserPool;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
@@ -158,6 +159,11 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	private static final String INDEX_META_CONTAINER = "meta_index"; //$NON-NLS-1$
 	/** synchronized by metaIndexUpdates */
 	private final Set<Index> metaIndexUpdates;
+	/**
+	 * Parsers of the documents indexed without a parser of their own (see SourceIndexer), reused by the
+	 * following documents indexed by the same thread with the same options
+	 */
+	final ParserPool<SourceElementParser> sourceElementParsers = new ParserPool<>();
 
 	public IndexManager() {
 		this.metaIndexUpdates = Collections.synchronizedSet(new LinkedHashSet<>());
@@ -392,10 +398,18 @@ public synchronized void ensureIndexExists(IndexLocation indexLocation, IPath co
 	}
 }
 public SourceElementParser getSourceElementParser(IJavaProject project, ISourceElementRequestor requestor) {
+	return getSourceElementParser(getSourceElementParserOptions(project), requestor);
+}
+/*
+ * Answers the options of the parsers indexing the sources of the given project.
+ */
+Map<String, String> getSourceElementParserOptions(IJavaProject project) {
 	// disable task tags to speed up parsing
 	Map<String, String> options = project.getOptions(true);
 	options.put(JavaCore.COMPILER_TASK_TAGS, ""); //$NON-NLS-1$
-
+	return options;
+}
+SourceElementParser getSourceElementParser(Map<String, String> options, ISourceElementRequestor requestor) {
 	SourceElementParser parser = new IndexingParser(
 		requestor,
 		new DefaultProblemFactory(Locale.getDefault()),
@@ -15,6 +15,8 @@ package org.eclipse.jdt.internal.core.search.indexing;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.util.Map;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
@@ -91,31 +93,40 @@ public class SourceIndexer extends AbstractIndexer implements ITypeRequestor, Su
 		// Create a new Parser
 		String documentPath = this.document.getPath();
 		SourceElementParser parser = this.document.getParser();
+		IndexManager indexManager = JavaModelManager.getJavaModelManager().indexManager;
+		Map<String, String> pooledParserOptions = null; // options of the parser taken from the pool, if any
 		if (parser == null) {
 			IPath path = new Path(documentPath);
 			IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(path.segment(0));
-			parser = JavaModelManager.getJavaModelManager().indexManager.getSourceElementParser(JavaCore.create(project), this.requestor);
-		} else {
-			parser.setRequestor(this.requestor);
+			Map<String, String> options = indexManager.getSourceElementParserOptions(JavaCore.create(project));
+			parser = indexManager.sourceElementParsers.acquire(options, () -> indexManager.getSourceElementParser(options, null));
+			pooledParserOptions = options;
 		}
-
-		// Launch the parser
-		char[] source = null;
-		char[] name = null;
+		parser.setRequestor(this.requestor);
 		try {
-			source = this.document.getCharContents();
-			name = documentPath.toCharArray();
-		} catch(Exception e){
-			// ignore
-		}
-		if (source == null || name == null) return; // could not retrieve document info (e.g. resource was discarded)
-		this.compilationUnit = new CompilationUnit(source, name);
-		try {
-			if (parser.parseCompilationUnit(this.compilationUnit, true, null).hasFunctionalTypes())
-				this.document.requireIndexingResolvedDocument();
-		} catch (Exception e) {
-			if (JobManager.VERBOSE) {
-				trace("", e); //$NON-NLS-1$
+			// Launch the parser
+			char[] source = null;
+			char[] name = null;
+			try {
+				source = this.document.getCharContents();
+				name = documentPath.toCharArray();
+			} catch(Exception e){
+				// ignore
+			}
+			if (source == null || name == null) return; // could not retrieve document info (e.g. resource was discarded)
+			this.compilationUnit = new CompilationUnit(source, name);
+			try {
+				if (parser.parseCompilationUnit(this.compilationUnit, true, null).hasFunctionalTypes())
+					this.document.requireIndexingResolvedDocument();
+			} catch (Exception e) {
+				if (JobManager.VERBOSE) {
+					trace("", e); //$NON-NLS-1$
+				}
+			}
+		} finally {
+			if (pooledParserOptions != null) {
+				parser.setRequestor(null); // do not retain this indexer
+				indexManager.sourceElementParsers.release(pooledParserOptions, parser);
 			}
 		}
 	}